@@ -14,7 +14,11 @@
  * limitations under the License.
  */
 
+import griffon.plugins.scaffolding.ConverterRegistry;
 import griffon.plugins.scaffolding.ScaffoldingUtils;
+import griffon.plugins.scaffolding.TemplateIndex;
+import griffon.plugins.scaffolding.TemplateResolutionCache;
+import griffon.plugins.scaffolding.UiDefaultsWatcher;
 import griffon.plugins.scaffolding.editors.CalendarPropertyEditor;
 import griffon.plugins.scaffolding.editors.DatePropertyEditor;
 import griffon.util.ApplicationHolder;
@@ -41,6 +45,10 @@ public class ScaffoldingGriffonAddon extends AbstractGriffonAddon {
         );
 
         ScaffoldingUtils.initializeAtomTypes();
+        ConverterRegistry.initialize();
+        TemplateIndex.initialize();
+        TemplateResolutionCache.initialize(ApplicationHolder.getApplication());
+        UiDefaultsWatcher.start(ApplicationHolder.getApplication());
 
         registerEditor(Date.class, DatePropertyEditor.class);
         registerEditor(Calendar.class, CalendarPropertyEditor.class);
@@ -28,4 +28,30 @@ eventStatsStart = { pathToInfo ->
     if(!pathToInfo.find{ it.path == 'commands'} ) {
         pathToInfo << [name: 'Command Objects', path: 'commands', filetype: ['.groovy']]
     }
-}
\ No newline at end of file
+}
+
+eventPackagingEnd = {
+    File classesDir = griffonSettings.classesDir
+    if (!classesDir?.exists()) return
+
+    List templates = []
+    classesDir.eachFileRecurse { File file ->
+        String name = file.name
+        if (!name.endsWith('Template.class') || name.contains('$')) return
+        String path = file.absolutePath - classesDir.absolutePath
+        templates << path[1..-7].replace(File.separator, '.')
+    }
+
+    File index = new File(classesDir, 'META-INF/scaffolding/templates.idx')
+    if (!templates) {
+        index.delete()
+        return
+    }
+
+    index.parentFile.mkdirs()
+    index.withWriter('UTF-8') { writer ->
+        writer.writeLine('# Generated by the scaffolding plugin, do not edit')
+        templates.sort().each { writer.writeLine(it) }
+    }
+    griffonConsole.updateStatus "Indexed ${templates.size()} scaffolding templates"
+}
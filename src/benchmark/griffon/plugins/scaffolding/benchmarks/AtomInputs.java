@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import griffon.plugins.scaffolding.AtomicValue;
+import griffon.plugins.scaffolding.AtomicValueRegistry;
+import org.joda.time.*;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Atomic values and sample inputs used by the atomic value benchmarks.<p>
+ * Inputs come in pairs of distinct values of the same kind, so that alternating
+ * between them always results in a change. {@link #inputs(String, String)} checks
+ * every pair against its atom before handing it out, failing fast on combinations
+ * the atom does not accept; otherwise a case would silently measure the exception path.
+ *
+ * @author Andres Almiray
+ */
+public final class AtomInputs {
+    static final String ATOMS_PACKAGE = "griffon.plugins.scaffolding.atoms.";
+    private static final long MILLIS = 1366884000000L;
+    private static final long HOUR = 60L * 60L * 1000L;
+    private static final long DAY = 24L * HOUR;
+
+    public static enum Color {
+        RED, GREEN
+    }
+
+    private AtomInputs() {
+    }
+
+    public static Class atomClass(String atom) {
+        try {
+            return Class.forName(ATOMS_PACKAGE + atom);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown atom " + atom, e);
+        }
+    }
+
+    public static AtomicValue newAtom(String atom) {
+        if ("EnumValue".equals(atom)) {
+            return AtomicValueRegistry.resolveFactory(Color.class).create();
+        }
+        return AtomicValueRegistry.factoryOf(atomClass(atom)).create();
+    }
+
+    /**
+     * Returns the inputs of the given kind for the given atom.
+     *
+     * @throws IllegalStateException if the atom rejects an input, or the inputs do not
+     *                               result in distinct values
+     */
+    public static Object[] inputs(String atom, String kind) {
+        Object[] inputs = rawInputs(atom, kind);
+        Object[] values = new Object[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            values[i] = roundTrip(atom, kind, inputs[i]);
+        }
+        if (values[0].equals(values[1])) {
+            throw new IllegalStateException(atom + " yields the same value for both " + kind + " inputs " + inputs[0] + " and " + inputs[1]);
+        }
+        return inputs;
+    }
+
+    /**
+     * Sets the input on a fresh atom, then sets the resulting value on another one
+     * and checks that both atoms agree.
+     */
+    private static Object roundTrip(String atom, String kind, Object input) {
+        AtomicValue first = newAtom(atom);
+        AtomicValue second = newAtom(atom);
+        try {
+            first.setValue(input);
+            second.setValue(first.getValue());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(atom + " does not accept " + kind + " input " + input, e);
+        }
+        Object value = first.getValue();
+        if (value == null || !value.equals(second.getValue())) {
+            throw new IllegalStateException(atom + " does not round trip " + kind + " input " + input + ", got " + value + " and " + second.getValue());
+        }
+        return value;
+    }
+
+    private static Object[] rawInputs(String atom, String kind) {
+        // times of day must differ by less than a day to be distinct
+        long second = MILLIS + ("LocalTimeValue".equals(atom) ? HOUR : DAY);
+        if ("Number".equals(kind)) {
+            if (isTemporal(atom)) return new Object[]{MILLIS, second};
+            return new Object[]{42, 43};
+        } else if ("CharSequence".equals(kind)) {
+            if ("EnumValue".equals(atom)) return new Object[]{"RED", "GREEN"};
+            if ("DateTimeZoneValue".equals(atom)) return new Object[]{"Europe/Paris", "America/New_York"};
+            if ("InstantValue".equals(atom)) return new Object[]{"2013-04-25T10:00:00.000Z", "2013-04-26T10:00:00.000Z"};
+            return new Object[]{"foo", "bar"};
+        } else if ("Boolean".equals(kind)) {
+            return new Object[]{Boolean.TRUE, Boolean.FALSE};
+        } else if ("Date".equals(kind)) {
+            return new Object[]{new Date(MILLIS), new Date(second)};
+        } else if ("Calendar".equals(kind)) {
+            Calendar first = Calendar.getInstance();
+            first.setTimeInMillis(MILLIS);
+            Calendar last = Calendar.getInstance();
+            last.setTimeInMillis(second);
+            return new Object[]{first, last};
+        } else if ("Joda".equals(kind)) {
+            return new Object[]{new DateTime(MILLIS), new DateTime(second)};
+        } else if ("Native".equals(kind)) {
+            return nativeInputs(atom);
+        }
+        throw new IllegalArgumentException("Unknown input kind " + kind);
+    }
+
+    private static Object[] nativeInputs(String atom) {
+        if ("YearsValue".equals(atom)) return new Object[]{Years.years(3), Years.years(5)};
+        if ("MonthsValue".equals(atom)) return new Object[]{Months.months(3), Months.months(5)};
+        if ("WeeksValue".equals(atom)) return new Object[]{Weeks.weeks(3), Weeks.weeks(5)};
+        if ("DaysValue".equals(atom)) return new Object[]{Days.days(3), Days.days(5)};
+        if ("HoursValue".equals(atom)) return new Object[]{Hours.hours(3), Hours.hours(5)};
+        if ("MinutesValue".equals(atom)) return new Object[]{Minutes.minutes(3), Minutes.minutes(5)};
+        if ("SecondsValue".equals(atom)) return new Object[]{Seconds.seconds(3), Seconds.seconds(5)};
+        if ("DurationValue".equals(atom)) return new Object[]{new Duration(MILLIS), new Duration(DAY)};
+        if ("DateTimeZoneValue".equals(atom)) return new Object[]{TimeZone.getTimeZone("Europe/Paris"), DateTimeZone.forID("America/New_York")};
+        if ("LocalDateValue".equals(atom)) return new Object[]{new LocalDate(MILLIS), new LocalDate(MILLIS + DAY)};
+        if ("LocalDateTimeValue".equals(atom)) return new Object[]{new LocalDateTime(MILLIS), new LocalDateTime(MILLIS + DAY)};
+        if ("LocalTimeValue".equals(atom)) return new Object[]{new LocalTime(MILLIS), new LocalTime(MILLIS + HOUR)};
+        if ("EnumValue".equals(atom)) return new Object[]{Color.RED, Color.GREEN};
+        throw new IllegalArgumentException("No native inputs for " + atom);
+    }
+
+    private static boolean isTemporal(String atom) {
+        return atom.startsWith("Date") || atom.startsWith("Calendar") || atom.startsWith("Local") || "DurationValue".equals(atom);
+    }
+}
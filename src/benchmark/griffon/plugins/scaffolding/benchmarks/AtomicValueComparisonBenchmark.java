@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import griffon.plugins.scaffolding.AtomicValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code compareTo}, {@code equals} and {@code hashCode} for every atomic
+ * value, plus a set/compare round trip with and without a listener attached to
+ * the {@code value} property.
+ *
+ * @author Andres Almiray
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtomicValueComparisonBenchmark {
+    @Param({
+        "BigDecimalValue:Number", "BigIntegerValue:Number", "ByteValue:Number", "DoubleValue:Number",
+        "FloatValue:Number", "IntegerValue:Number", "LongValue:Number", "ShortValue:Number",
+        "UnboxedByteValue:Number", "UnboxedDoubleValue:Number", "UnboxedFloatValue:Number",
+        "UnboxedIntegerValue:Number", "UnboxedLongValue:Number", "UnboxedShortValue:Number",
+        "BooleanValue:Boolean", "UnboxedBooleanValue:Boolean", "StringValue:CharSequence",
+        "EnumValue:Native", "DateTimeZoneValue:Native", "DateValue:Date", "CalendarValue:Calendar",
+        "DateTimeValue:Joda", "InstantValue:Joda", "LocalDateValue:Native", "LocalDateTimeValue:Native",
+        "LocalTimeValue:Native", "YearsValue:Native", "MonthsValue:Native", "WeeksValue:Native",
+        "DaysValue:Native", "HoursValue:Native", "MinutesValue:Native", "SecondsValue:Native",
+        "DurationValue:Native"
+    })
+    public String atomInput;
+
+    @Param({"false", "true"})
+    public boolean listening;
+
+    private AtomicValue atom;
+    private AtomicValue same;
+    private AtomicValue other;
+    private Object[] inputs;
+    private int index;
+    private long events;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        String[] parts = atomInput.split(":");
+        inputs = AtomInputs.inputs(parts[0], parts[1]);
+        atom = AtomInputs.newAtom(parts[0]);
+        same = AtomInputs.newAtom(parts[0]);
+        other = AtomInputs.newAtom(parts[0]);
+        atom.setValue(inputs[0]);
+        same.setValue(inputs[0]);
+        other.setValue(inputs[1]);
+        if (listening) {
+            atom.addPropertyChangeListener("value", new PropertyChangeListener() {
+                public void propertyChange(PropertyChangeEvent evt) {
+                    events++;
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public int compareTo() {
+        return ((Comparable) atom).compareTo(other);
+    }
+
+    @Benchmark
+    public boolean equalsSame() {
+        return atom.equals(same);
+    }
+
+    @Benchmark
+    public boolean equalsOther() {
+        return atom.equals(other);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return atom.hashCode();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public int setAndCompare() {
+        atom.setValue(inputs[index++ & 1]);
+        return ((Comparable) atom).compareTo(other);
+    }
+}
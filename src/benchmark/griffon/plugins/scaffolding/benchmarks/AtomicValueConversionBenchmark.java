@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import griffon.plugins.scaffolding.AtomicValue;
+import griffon.plugins.scaffolding.atoms.AbstractAtomicValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code setValue} and {@code wrap} for every atomic value and every kind
+ * of input it accepts, with and without a listener attached to the {@code value}
+ * property. Each case names an atom and an input kind, separated by a colon.
+ *
+ * @author Andres Almiray
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtomicValueConversionBenchmark {
+    @Param({
+        "BigDecimalValue:Number", "BigIntegerValue:Number", "ByteValue:Number", "DoubleValue:Number",
+        "FloatValue:Number", "IntegerValue:Number", "LongValue:Number", "ShortValue:Number",
+        "UnboxedByteValue:Number", "UnboxedDoubleValue:Number", "UnboxedFloatValue:Number",
+        "UnboxedIntegerValue:Number", "UnboxedLongValue:Number", "UnboxedShortValue:Number",
+        "BooleanValue:Boolean", "UnboxedBooleanValue:Boolean",
+        "StringValue:CharSequence", "EnumValue:CharSequence", "EnumValue:Native",
+        "DateTimeZoneValue:CharSequence", "DateTimeZoneValue:Native",
+        "DateValue:Number", "DateValue:Date", "DateValue:Calendar",
+        "CalendarValue:Number", "CalendarValue:Date", "CalendarValue:Calendar",
+        "DateTimeValue:Number", "DateTimeValue:Date", "DateTimeValue:Calendar", "DateTimeValue:Joda",
+        "InstantValue:CharSequence", "InstantValue:Date", "InstantValue:Calendar", "InstantValue:Joda",
+        "LocalDateValue:Number", "LocalDateValue:Date", "LocalDateValue:Calendar", "LocalDateValue:Joda", "LocalDateValue:Native",
+        "LocalDateTimeValue:Number", "LocalDateTimeValue:Date", "LocalDateTimeValue:Calendar", "LocalDateTimeValue:Joda", "LocalDateTimeValue:Native",
+        "LocalTimeValue:Number", "LocalTimeValue:Date", "LocalTimeValue:Calendar", "LocalTimeValue:Joda", "LocalTimeValue:Native",
+        "YearsValue:Number", "YearsValue:Native", "MonthsValue:Number", "MonthsValue:Native",
+        "WeeksValue:Number", "WeeksValue:Native", "DaysValue:Number", "DaysValue:Native",
+        "HoursValue:Number", "HoursValue:Native", "MinutesValue:Number", "MinutesValue:Native",
+        "SecondsValue:Number", "SecondsValue:Native", "DurationValue:Number", "DurationValue:Native"
+    })
+    public String atomInput;
+
+    @Param({"false", "true"})
+    public boolean listening;
+
+    private AtomicValue atom;
+    private Class atomClass;
+    private Class enumType;
+    private Object[] inputs;
+    private int index;
+    private long events;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] parts = atomInput.split(":");
+        atom = AtomInputs.newAtom(parts[0]);
+        atomClass = atom.getClass();
+        if ("EnumValue".equals(parts[0])) {
+            enumType = AtomInputs.Color.class;
+        }
+        inputs = AtomInputs.inputs(parts[0], parts[1]);
+        if (listening) {
+            atom.addPropertyChangeListener("value", new PropertyChangeListener() {
+                public void propertyChange(PropertyChangeEvent evt) {
+                    events++;
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public AtomicValue setValue() {
+        atom.setValue(inputs[index++ & 1]);
+        return atom;
+    }
+
+    @Benchmark
+    public AtomicValue wrap() {
+        Object input = inputs[index++ & 1];
+        // string inputs do not tell the enum type, enum atoms are wrapped by value type
+        if (enumType != null) return AbstractAtomicValue.wrapValue(input, enumType);
+        return AbstractAtomicValue.wrap(input, atomClass);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import griffon.core.GriffonApplication;
+import griffon.core.UIThreadHandler;
+import griffon.core.UIThreadManager;
+import griffon.core.controller.GriffonControllerActionManager;
+import griffon.core.i18n.NoSuchMessageException;
+import griffon.util.ApplicationHolder;
+import groovy.util.ConfigObject;
+import org.joda.time.LocalDate;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stand-ins for the collaborators the scaffolding runtime expects from a running
+ * Griffon application.
+ *
+ * @author Andres Almiray
+ */
+public final class BenchmarkSupport {
+    public static final String ACTION_NAME = "submit";
+    static final String TEMPLATES_PACKAGE = "griffon.plugins.scaffolding.templates.";
+    static final Class[] PROPERTY_TYPES = {String.class, Integer.class, Boolean.class, Date.class, LocalDate.class};
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Installs a stub application whose message source maps the default widget and
+     * labeler template keys of every property type used by {@link FormCommandObject}
+     * to stub templates, so that resolution always succeeds after walking every
+     * other candidate. Also installs a UI thread handler that runs tasks right away.
+     */
+    public static GriffonApplication installApplication() {
+        Map<String, String> messages = new HashMap<String, String>();
+        for (Class type : PROPERTY_TYPES) {
+            messages.put(TEMPLATES_PACKAGE + type.getSimpleName() + "Template", StubWidgetTemplate.class.getName());
+        }
+        messages.put(TEMPLATES_PACKAGE + "LabelerTemplate", StubLabelerTemplate.class.getName());
+
+        GriffonApplication app = newApplication(messages);
+        ApplicationHolder.setApplication(app);
+        UIThreadManager.getInstance().setUIThreadHandler(newSynchronousUIThreadHandler());
+        return app;
+    }
+
+    public static FormController newController(GriffonApplication app) {
+        FormController controller = new FormController();
+        controller.setApp(app);
+        return controller;
+    }
+
+    public static GriffonApplication newApplication(final Map<String, String> messages) {
+        final ConfigObject config = new ConfigObject();
+        final GriffonControllerActionManager actionManager = proxy(GriffonControllerActionManager.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if ("normalizeName".equals(method.getName())) return args[0];
+                return defaultValue(proxy, method, args);
+            }
+        });
+
+        return proxy(GriffonApplication.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                if ("getMessage".equals(name) && args != null && args[0] instanceof String) {
+                    String message = messages.get(args[0]);
+                    if (message == null) throw new NoSuchMessageException((String) args[0]);
+                    return message;
+                } else if ("getActionManager".equals(name)) {
+                    return actionManager;
+                } else if ("getLocale".equals(name)) {
+                    return Locale.getDefault();
+                } else if ("getConfig".equals(name)) {
+                    return config;
+                }
+                return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    public static UIThreadHandler newSynchronousUIThreadHandler() {
+        return proxy(UIThreadHandler.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                if ("isUIThread".equals(name)) return Boolean.TRUE;
+                if (name.startsWith("execute") && args != null && args.length == 1 && args[0] instanceof Runnable) {
+                    ((Runnable) args[0]).run();
+                    return null;
+                }
+                return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BenchmarkSupport.class.getClassLoader(), new Class[]{type}, handler);
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if ("equals".equals(name)) return proxy == args[0];
+        if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+        if ("toString".equals(name)) return proxy.getClass().getName();
+
+        Class returnType = method.getReturnType();
+        if (returnType == Boolean.TYPE) return Boolean.FALSE;
+        if (returnType == Integer.TYPE) return 0;
+        if (returnType == Long.TYPE) return 0L;
+        if (returnType == Double.TYPE) return 0d;
+        if (returnType == Float.TYPE) return 0f;
+        if (returnType == Short.TYPE) return (short) 0;
+        if (returnType == Byte.TYPE) return (byte) 0;
+        if (returnType == Character.TYPE) return (char) 0;
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import griffon.plugins.validation.constraints.ConstrainedProperty;
+import org.codehaus.griffon.runtime.scaffolding.AbstractCommandObject;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command object with a configurable number of properties whose types cycle
+ * through {@link BenchmarkSupport#PROPERTY_TYPES}.
+ *
+ * @author Andres Almiray
+ */
+public class FormCommandObject extends AbstractCommandObject {
+    private final Map<String, ConstrainedProperty> constrainedProperties;
+    private final String[] propertyNames;
+
+    public FormCommandObject(int size) {
+        Map<String, ConstrainedProperty> properties = new LinkedHashMap<String, ConstrainedProperty>();
+        propertyNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            Class type = BenchmarkSupport.PROPERTY_TYPES[i % BenchmarkSupport.PROPERTY_TYPES.length];
+            propertyNames[i] = "property" + i;
+            properties.put(propertyNames[i], new ConstrainedProperty(FormCommandObject.class, propertyNames[i], type));
+        }
+        constrainedProperties = Collections.unmodifiableMap(properties);
+    }
+
+    @Override
+    public Map<String, ConstrainedProperty> constrainedProperties() {
+        return constrainedProperties;
+    }
+
+    public String[] getPropertyNames() {
+        return propertyNames;
+    }
+}
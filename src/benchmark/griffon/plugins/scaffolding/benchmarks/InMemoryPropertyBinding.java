@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import griffon.core.resources.editors.PropertyEditorResolver;
+import griffon.plugins.scaffolding.AbstractPropertyBinding;
+import griffon.plugins.validation.constraints.ConstrainedProperty;
+
+import java.beans.PropertyEditor;
+
+/**
+ * Binding between an in-memory text source and an in-memory {@code Integer} target,
+ * standing in for a text field bound to a numeric command object property.
+ *
+ * @author Andres Almiray
+ */
+public class InMemoryPropertyBinding extends AbstractPropertyBinding {
+    private final boolean converters;
+    private final boolean editorCaching;
+    private final boolean coalescing;
+    private volatile Object sourceValue;
+    private volatile Object targetValue;
+
+    public InMemoryPropertyBinding(boolean converters, boolean editorCaching, boolean coalescing) {
+        super(new ConstrainedProperty(InMemoryPropertyBinding.class, "value", Integer.class));
+        this.converters = converters;
+        this.editorCaching = editorCaching;
+        this.coalescing = coalescing;
+        bind();
+    }
+
+    /**
+     * Simulates the user typing into the source.
+     */
+    public void sourceChanged(Object value) {
+        sourceValue = value;
+        updateTarget();
+    }
+
+    /**
+     * Simulates the target property being set programmatically.
+     */
+    public void targetChanged(Object value) {
+        targetValue = value;
+        updateSource();
+    }
+
+    public Object getSourceValue() {
+        return sourceValue;
+    }
+
+    public Object getTargetValue() {
+        return targetValue;
+    }
+
+    protected void bindSource() {
+    }
+
+    protected void bindTarget() {
+    }
+
+    protected Object getTargetPropertyValue() {
+        return targetValue;
+    }
+
+    protected void setTargetPropertyValue(Object value) {
+        targetValue = value;
+    }
+
+    protected void setSourcePropertyValue(Object value) {
+        sourceValue = value;
+    }
+
+    protected Object getSourcePropertyValue() {
+        return sourceValue;
+    }
+
+    @Override
+    protected boolean isConverterEnabled() {
+        return converters && super.isConverterEnabled();
+    }
+
+    @Override
+    protected boolean isPropertyEditorCachingEnabled() {
+        return editorCaching;
+    }
+
+    @Override
+    protected boolean isUpdateCoalescingEnabled() {
+        return coalescing;
+    }
+
+    protected PropertyEditor resolveSourcePropertyEditor() {
+        return PropertyEditorResolver.findEditor(String.class);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code updateTarget}/{@code updateSource} round trips of a single binding.<p>
+ * Conversion modes:
+ * <ul>
+ * <li>{@code converter} - typed converters towards the target, cached property editors towards the source</li>
+ * <li>{@code cachedEditor} - property editors resolved and configured once per binding</li>
+ * <li>{@code resolvedEditor} - {@code PropertyEditorResolver} lookup and
+ * {@code ExtendedPropertyEditor.setFormat} on every update</li>
+ * </ul>
+ * Source updates are dispatched through {@code UIThreadManager.executeAsync} on a
+ * synchronous stand-in, either one task per update or coalesced.<p>
+ * The {@code shared} state runs the same binding from several threads at once;
+ * use {@code -t} to change the number of threads.
+ *
+ * @author Andres Almiray
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyBindingBenchmark {
+    private static final String[] TEXTS = {"42", "43"};
+    private static final Integer[] NUMBERS = {42, 43};
+
+    @State(Scope.Thread)
+    public static class LocalBinding {
+        @Param({"converter", "cachedEditor", "resolvedEditor"})
+        public String mode;
+
+        @Param({"true", "false"})
+        public boolean coalescing;
+
+        InMemoryPropertyBinding binding;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            BenchmarkSupport.installApplication();
+            binding = newBinding(mode, coalescing);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            binding.dispose();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedBinding {
+        @Param({"converter", "cachedEditor", "resolvedEditor"})
+        public String mode;
+
+        @Param({"true", "false"})
+        public boolean coalescing;
+
+        InMemoryPropertyBinding binding;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            BenchmarkSupport.installApplication();
+            binding = newBinding(mode, coalescing);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            binding.dispose();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Counter {
+        int index;
+
+        int next() {
+            return index++ & 1;
+        }
+    }
+
+    @Benchmark
+    public Object updateTarget(LocalBinding state, Counter counter) {
+        state.binding.sourceChanged(TEXTS[counter.next()]);
+        return state.binding.getTargetValue();
+    }
+
+    @Benchmark
+    public Object updateSource(LocalBinding state, Counter counter) {
+        state.binding.targetChanged(NUMBERS[counter.next()]);
+        return state.binding.getSourceValue();
+    }
+
+    @Benchmark
+    public Object roundTrip(LocalBinding state, Counter counter) {
+        int i = counter.next();
+        state.binding.sourceChanged(TEXTS[i]);
+        state.binding.targetChanged(NUMBERS[i ^ 1]);
+        return state.binding.getSourceValue();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object contendedRoundTrip(SharedBinding state, Counter counter) {
+        int i = counter.next();
+        state.binding.sourceChanged(TEXTS[i]);
+        state.binding.targetChanged(NUMBERS[i ^ 1]);
+        return state.binding.getSourceValue();
+    }
+
+    private static InMemoryPropertyBinding newBinding(String mode, boolean coalescing) {
+        if ("converter".equals(mode)) return new InMemoryPropertyBinding(true, true, coalescing);
+        if ("cachedEditor".equals(mode)) return new InMemoryPropertyBinding(false, true, coalescing);
+        if ("resolvedEditor".equals(mode)) return new InMemoryPropertyBinding(false, false, coalescing);
+        throw new IllegalArgumentException("Unknown mode " + mode);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import griffon.core.GriffonApplication;
+import griffon.plugins.scaffolding.ScaffoldingContext;
+import griffon.plugins.scaffolding.ScaffoldingUtils;
+import griffon.plugins.scaffolding.TemplateResolutionCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static griffon.plugins.scaffolding.benchmarks.BenchmarkSupport.ACTION_NAME;
+
+/**
+ * Measures template and message code resolution for a whole form.<p>
+ * Cold benchmarks discard every application wide cache (naming plans, resolved
+ * templates and remembered misses) before each operation; warm benchmarks run
+ * against populated caches. {@code resolveTemplate} is private to
+ * {@code ScaffoldingContext} and is measured through the cold form benchmarks,
+ * which walk every i18n and class candidate before reaching the stub templates.
+ *
+ * @author Andres Almiray
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateResolutionBenchmark {
+    private static final String[] MVC_MEMBERS = {"Model", "View", "Controller"};
+
+    @Param({"10", "100", "1000"})
+    public int properties;
+
+    private FormController controller;
+    private FormCommandObject commandObject;
+    private String[] propertyNames;
+    private ScaffoldingContext warmContext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GriffonApplication app = BenchmarkSupport.installApplication();
+        controller = BenchmarkSupport.newController(app);
+        commandObject = new FormCommandObject(properties);
+        propertyNames = commandObject.getPropertyNames();
+        warmContext = newContext();
+        for (String property : propertyNames) {
+            warmContext.resolveWidget(property);
+            warmContext.resolveLabeler(property);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        warmContext.dispose();
+        invalidateCaches();
+    }
+
+    @Benchmark
+    public void coldFormResolution(Blackhole bh) {
+        invalidateCaches();
+        resolveForm(bh);
+    }
+
+    @Benchmark
+    public void warmFormResolution(Blackhole bh) {
+        resolveForm(bh);
+    }
+
+    @Benchmark
+    public void warmContextResolution(Blackhole bh) {
+        for (String property : propertyNames) {
+            bh.consume(warmContext.resolveWidget(property));
+            bh.consume(warmContext.resolveLabeler(property));
+        }
+    }
+
+    @Benchmark
+    public void coldNameCandidates(Blackhole bh) {
+        ScaffoldingUtils.invalidateNamingPlans();
+        nameCandidates(bh);
+    }
+
+    @Benchmark
+    public void warmNameCandidates(Blackhole bh) {
+        nameCandidates(bh);
+    }
+
+    @Benchmark
+    public void messageResolution(Blackhole bh) {
+        for (String property : propertyNames) {
+            bh.consume(warmContext.resolveMessage(property, property));
+        }
+    }
+
+    private void resolveForm(Blackhole bh) {
+        ScaffoldingContext context = newContext();
+        for (String property : propertyNames) {
+            bh.consume(context.resolveWidget(property));
+            bh.consume(context.resolveLabeler(property));
+        }
+        context.dispose();
+    }
+
+    private void nameCandidates(Blackhole bh) {
+        for (String member : MVC_MEMBERS) {
+            bh.consume(ScaffoldingUtils.mvcMemberCodes(controller, ACTION_NAME, commandObject, member));
+        }
+        for (String property : propertyNames) {
+            bh.consume(ScaffoldingUtils.propertyTemplates(controller, ACTION_NAME, commandObject, property));
+            bh.consume(ScaffoldingUtils.propertyLabelerTemplates(controller, ACTION_NAME, commandObject, property));
+            bh.consume(ScaffoldingUtils.messageCodes(controller, ACTION_NAME, commandObject, property));
+        }
+        bh.consume(ScaffoldingUtils.widgetTemplates(controller, ACTION_NAME, commandObject, "textField"));
+        bh.consume(ScaffoldingUtils.widgetLabelerTemplates(controller, ACTION_NAME, commandObject, "textField"));
+    }
+
+    private ScaffoldingContext newContext() {
+        ScaffoldingContext context = new ScaffoldingContext() {
+        };
+        context.setController(controller);
+        context.setActionName(ACTION_NAME);
+        context.setValidateable(commandObject);
+        return context;
+    }
+
+    private static void invalidateCaches() {
+        TemplateResolutionCache.invalidate();
+        ScaffoldingUtils.invalidateNamingPlans();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the re-entrancy guard of {@code AbstractPropertyBinding} (a compare-and-set
+ * on the owning thread, parking on contention) through {@code InMemoryPropertyBinding},
+ * both uncontended and with several threads updating the same binding. Every update of
+ * the target triggers a re-entrant update of the source, as a property change listener
+ * would, which the guard must turn away.
+ *
+ * @author Andres Almiray
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateGuardBenchmark {
+    private static final String[] TEXTS = {"42", "43"};
+
+    @State(Scope.Thread)
+    public static class LocalBinding {
+        ReentrantPropertyBinding binding;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            BenchmarkSupport.installApplication();
+            binding = new ReentrantPropertyBinding();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            binding.dispose();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedBinding {
+        ReentrantPropertyBinding binding;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            BenchmarkSupport.installApplication();
+            binding = new ReentrantPropertyBinding();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            binding.dispose();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Counter {
+        int index;
+
+        int next() {
+            return index++ & 1;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object uncontended(LocalBinding state, Counter counter) {
+        state.binding.sourceChanged(TEXTS[counter.next()]);
+        return state.binding.getTargetValue();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object contended(SharedBinding state, Counter counter) {
+        state.binding.sourceChanged(TEXTS[counter.next()]);
+        return state.binding.getTargetValue();
+    }
+
+    static final class ReentrantPropertyBinding extends InMemoryPropertyBinding {
+        ReentrantPropertyBinding() {
+            super(true, true, false);
+        }
+
+        @Override
+        protected void setTargetPropertyValue(Object value) {
+            super.setTargetPropertyValue(value);
+            // a re-entrant update, as triggered by a property change listener
+            updateSource();
+        }
+    }
+}
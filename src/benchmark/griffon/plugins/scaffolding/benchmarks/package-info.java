@@ -0,0 +1,33 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * JMH benchmarks for the scaffolding runtime.<p>
+ * These sources are not part of the plugin distribution. The {@code build.gradle} file
+ * in {@code src/benchmark} compiles them together with the plugin classes against a
+ * local Griffon installation and the validation, domain and jodatime plugin jars, with
+ * {@code jmh-generator-annprocess} as annotation processor. Run them with
+ * <pre>
+ * gradle jmh -PgriffonHome=&lt;path&gt; [-Pjmh='&lt;JMH arguments&gt;']
+ * </pre>
+ * which defaults to {@code griffon.plugins.scaffolding.benchmarks -prof gc}.
+ * The {@code gc} profiler reports allocation rates next to throughput and latency.
+ * No Griffon application needs to be running: {@link griffon.plugins.scaffolding.benchmarks.BenchmarkSupport}
+ * installs stand-ins for the application, its message source, action manager and UI thread.
+ *
+ * @author Andres Almiray
+ */
+package griffon.plugins.scaffolding.benchmarks;
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A value transferred by an {@code AbstractPropertyBinding}.
+ *
+ * @author Andres Almiray
+ */
+@Name("griffon.scaffolding.BindingUpdate")
+@Label("Binding Update")
+@Category({"Griffon", "Scaffolding"})
+@StackTrace(false)
+class BindingUpdateEvent extends Event {
+    @Label("Property")
+    String propertyName;
+
+    @Label("To Target")
+    @Description("Whether the value flowed from the widget into the validateable")
+    boolean toTarget;
+
+    @Label("Converter")
+    @Description("Whether a converter was used instead of a property editor")
+    boolean converter;
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Resolution of the message of a validation error by {@code ScaffoldingContext}.
+ *
+ * @author Andres Almiray
+ */
+@Name("griffon.scaffolding.ErrorMessageResolution")
+@Label("Error Message Resolution")
+@Category({"Griffon", "Scaffolding"})
+@StackTrace(false)
+class ErrorMessageResolutionEvent extends Event {
+    @Label("Candidates")
+    int candidates;
+
+    @Label("Code")
+    String code;
+
+    @Label("Cached")
+    boolean cached;
+}
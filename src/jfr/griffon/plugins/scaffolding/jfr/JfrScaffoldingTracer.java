@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.jfr;
+
+import griffon.plugins.scaffolding.ScaffoldingTracer;
+import jdk.jfr.EventType;
+
+/**
+ * {@code ScaffoldingTracer} that emits Java Flight Recorder events.<p>
+ * Requires JDK 11 or later. Events are only created when their type is enabled in a
+ * running recording; each event is begun before the traced operation and committed
+ * once it completes, so recording thresholds and durations apply as usual.
+ *
+ * @author Andres Almiray
+ */
+public class JfrScaffoldingTracer implements ScaffoldingTracer {
+    private final EventType templateResolution = EventType.getEventType(TemplateResolutionEvent.class);
+    private final EventType memberResolution = EventType.getEventType(MemberResolutionEvent.class);
+    private final EventType bindingUpdate = EventType.getEventType(BindingUpdateEvent.class);
+    private final EventType errorMessageResolution = EventType.getEventType(ErrorMessageResolutionEvent.class);
+
+    public Object beginTemplateResolution() {
+        if (!templateResolution.isEnabled()) return null;
+        TemplateResolutionEvent event = new TemplateResolutionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void endTemplateResolution(Object trace, int candidates, String winningKey, String template, boolean i18n) {
+        TemplateResolutionEvent event = (TemplateResolutionEvent) trace;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.candidates = candidates;
+        event.winningKey = winningKey;
+        event.template = template;
+        event.i18n = i18n;
+        event.commit();
+    }
+
+    public Object beginMemberResolution() {
+        if (!memberResolution.isEnabled()) return null;
+        MemberResolutionEvent event = new MemberResolutionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void endMemberResolution(Object trace, String fqCommandName, String suffix, int candidates, String member) {
+        MemberResolutionEvent event = (MemberResolutionEvent) trace;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.fqCommandName = fqCommandName;
+        event.suffix = suffix;
+        event.candidates = candidates;
+        event.member = member;
+        event.commit();
+    }
+
+    public Object beginBindingUpdate() {
+        if (!bindingUpdate.isEnabled()) return null;
+        BindingUpdateEvent event = new BindingUpdateEvent();
+        event.begin();
+        return event;
+    }
+
+    public void endBindingUpdate(Object trace, String propertyName, boolean toTarget, boolean converter) {
+        BindingUpdateEvent event = (BindingUpdateEvent) trace;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.propertyName = propertyName;
+        event.toTarget = toTarget;
+        event.converter = converter;
+        event.commit();
+    }
+
+    public Object beginErrorMessageResolution() {
+        if (!errorMessageResolution.isEnabled()) return null;
+        ErrorMessageResolutionEvent event = new ErrorMessageResolutionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void endErrorMessageResolution(Object trace, int candidates, String code, boolean cached) {
+        ErrorMessageResolutionEvent event = (ErrorMessageResolutionEvent) trace;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.candidates = candidates;
+        event.code = code;
+        event.cached = cached;
+        event.commit();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Resolution of a model, view or controller class for a command object MVC group.
+ *
+ * @author Andres Almiray
+ */
+@Name("griffon.scaffolding.MemberResolution")
+@Label("MVC Member Resolution")
+@Category({"Griffon", "Scaffolding"})
+@StackTrace(false)
+class MemberResolutionEvent extends Event {
+    @Label("Command")
+    String fqCommandName;
+
+    @Label("Member")
+    String suffix;
+
+    @Label("Candidates")
+    int candidates;
+
+    @Label("Resolved Class")
+    String member;
+}
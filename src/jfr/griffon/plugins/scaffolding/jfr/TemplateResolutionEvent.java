@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Resolution of a widget or labeler template by {@code ScaffoldingContext}.
+ *
+ * @author Andres Almiray
+ */
+@Name("griffon.scaffolding.TemplateResolution")
+@Label("Template Resolution")
+@Category({"Griffon", "Scaffolding"})
+@StackTrace(false)
+class TemplateResolutionEvent extends Event {
+    @Label("Candidates")
+    int candidates;
+
+    @Label("Winning Key")
+    String winningKey;
+
+    @Label("Template")
+    String template;
+
+    @Label("I18N")
+    @Description("Whether the template was resolved through a message key")
+    boolean i18n;
+}
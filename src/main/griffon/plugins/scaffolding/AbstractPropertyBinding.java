@@ -28,19 +28,46 @@ import org.slf4j.LoggerFactory;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import static griffon.util.GriffonClassUtils.getPropertyDescriptor;
 import static griffon.util.GriffonExceptionHandler.sanitize;
+import static griffon.util.GriffonNameUtils.isBlank;
 
 /**
+ * Base implementation of a two way binding between a source (usually a widget property)
+ * and a target (a property of a validateable).<p>
+ * Property editors are resolved and configured once per binding and reused for every
+ * update. Reuse is safe because editors are only touched while the binding's update guard
+ * is owned, and every conversion starts with {@code setValue()}, overwriting any state left
+ * by the previous one. Bindings whose editors depend on state that may change between
+ * updates should call {@link #resetPropertyEditors()} when that state changes, or
+ * override {@link #isPropertyEditorCachingEnabled()} to resolve editors on every update.<p>
+ * Values flowing into the target are converted with a {@code Converter} from the
+ * {@code ConverterRegistry} whenever the constrained property defines no format and a
+ * converter exists for the value's type. A value the converter rejects is handed to the
+ * property editor, which has the final say; property editors are used for everything else,
+ * including every update of the source.<p>
+ * Source updates are handed to the {@code BindingUpdateScheduler}, which keeps the latest
+ * value per binding and applies pending values in batches on the UI thread. Override
+ * {@link #isUpdateCoalescingEnabled()} to post every update as its own task instead.
+ *
  * @author Andres Almiray
  */
 public abstract class AbstractPropertyBinding implements Disposable {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractPropertyBinding.class);
+    private static final Object NOT_CONVERTED = new Object();
 
     protected ConstrainedProperty constrainedProperty;
-    private final Object LOCK = new Object[0];
-    private boolean firing = false;
+    private final AtomicReference<Thread> updatingThread = new AtomicReference<Thread>();
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<Thread>();
+    private PropertyEditor sourceEditor;
+    private PropertyEditor targetEditor;
+    private Class targetConverterKey;
+    private Converter targetConverter;
 
     protected AbstractPropertyBinding(ConstrainedProperty constrainedProperty) {
         this.constrainedProperty = constrainedProperty;
@@ -58,43 +85,52 @@ public abstract class AbstractPropertyBinding implements Disposable {
     }
 
     public void dispose() {
+        BindingUpdateScheduler.getInstance().cancel(this);
         constrainedProperty = null;
+        resetPropertyEditors();
     }
 
     protected void updateSource() {
-        synchronized (LOCK) {
-            if (firing) return;
-            firing = true;
-            try {
-                PropertyEditor sourceEditor = resolveSourcePropertyEditor();
-                sourceEditor.setValue(getTargetPropertyValue());
-                applySourcePropertyValue(sourceEditor.getValue());
-            } catch (ValueConversionException e) {
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("Could not update target property '" + constrainedProperty.getPropertyName() + "'", sanitize(e));
-                }
-            } finally {
-                firing = false;
+        if (!enterUpdate()) return;
+        ScaffoldingTracer tracer = ScaffoldingTracing.TRACER;
+        Object trace = tracer.beginBindingUpdate();
+        try {
+            PropertyEditor sourceEditor = getSourcePropertyEditor();
+            sourceEditor.setValue(getTargetPropertyValue());
+            applySourcePropertyValue(sourceEditor.getValue());
+        } catch (ValueConversionException e) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Could not update target property '" + constrainedProperty.getPropertyName() + "'", sanitize(e));
             }
+        } finally {
+            if (trace != null) tracer.endBindingUpdate(trace, propertyName(), false, false);
+            exitUpdate();
         }
     }
 
     protected void updateTarget() {
-        synchronized (LOCK) {
-            if (firing) return;
-            firing = true;
-            try {
-                PropertyEditor targetEditor = resolveTargetPropertyEditor();
-                targetEditor.setValue(getSourcePropertyValue());
+        if (!enterUpdate()) return;
+        ScaffoldingTracer tracer = ScaffoldingTracing.TRACER;
+        Object trace = tracer.beginBindingUpdate();
+        Object converted = NOT_CONVERTED;
+        try {
+            Object value = getSourcePropertyValue();
+            converted = convert(getTargetConverter(value), value);
+            if (converted != NOT_CONVERTED) {
+                setTargetPropertyValue(converted);
+            } else {
+                PropertyEditor targetEditor = getTargetPropertyEditor();
+                targetEditor.setValue(value);
                 setTargetPropertyValue(targetEditor.getValue());
-            } catch (ValueConversionException e) {
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("Could not update source property", sanitize(e));
-                }
-                setTargetPropertyValue(null);
-            } finally {
-                firing = false;
             }
+        } catch (ValueConversionException e) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Could not update source property", sanitize(e));
+            }
+            setTargetPropertyValue(null);
+        } finally {
+            if (trace != null) tracer.endBindingUpdate(trace, propertyName(), true, converted != NOT_CONVERTED);
+            exitUpdate();
         }
     }
 
@@ -110,6 +146,106 @@ public abstract class AbstractPropertyBinding implements Disposable {
 
     protected abstract Object getSourcePropertyValue();
 
+    protected boolean isConverterEnabled() {
+        return isBlank(constrainedProperty.getFormat());
+    }
+
+    protected boolean isUpdateCoalescingEnabled() {
+        return true;
+    }
+
+    protected boolean isPropertyEditorCachingEnabled() {
+        return true;
+    }
+
+    /**
+     * Discards cached property editors, they will be resolved again on the next update.
+     */
+    protected void resetPropertyEditors() {
+        boolean entered = enterUpdate();
+        try {
+            sourceEditor = null;
+            targetEditor = null;
+            targetConverterKey = null;
+            targetConverter = null;
+        } finally {
+            if (entered) exitUpdate();
+        }
+    }
+
+    /**
+     * Takes ownership of the update guard. Returns {@code false} if the current
+     * thread already owns it (a re-entrant update triggered by the update itself),
+     * in which case the caller must neither proceed nor release the guard.<p>
+     * Updates almost always happen on a single thread, so ownership is taken with
+     * a single compare-and-set. Should another thread own the guard, the caller
+     * parks until that update completes.
+     */
+    private boolean enterUpdate() {
+        Thread current = Thread.currentThread();
+        if (updatingThread.compareAndSet(null, current)) return true;
+        if (updatingThread.get() == current) return false;
+
+        boolean interrupted = false;
+        waiters.add(current);
+        try {
+            while (!updatingThread.compareAndSet(null, current)) {
+                LockSupport.park(this);
+                // parking returns right away while the interrupt flag is set
+                if (Thread.interrupted()) interrupted = true;
+            }
+        } finally {
+            waiters.remove(current);
+        }
+        if (interrupted) current.interrupt();
+        return true;
+    }
+
+    private void exitUpdate() {
+        updatingThread.set(null);
+        Thread waiter = waiters.peek();
+        if (waiter != null) LockSupport.unpark(waiter);
+    }
+
+    private String propertyName() {
+        ConstrainedProperty property = constrainedProperty;
+        return property != null ? property.getPropertyName() : null;
+    }
+
+    /**
+     * Converts the value, returns {@code NOT_CONVERTED} if there is no converter
+     * or the converter rejects the value, leaving it to the property editor.
+     */
+    private static Object convert(Converter converter, Object value) {
+        if (converter == null) return NOT_CONVERTED;
+        try {
+            return converter.convert(value);
+        } catch (ValueConversionException e) {
+            return NOT_CONVERTED;
+        }
+    }
+
+    private Converter getTargetConverter(Object value) {
+        if (value == null || !isConverterEnabled()) return null;
+        if (value.getClass() != targetConverterKey) {
+            targetConverter = ConverterRegistry.findConverter(value.getClass(), constrainedProperty.getPropertyType());
+            targetConverterKey = value.getClass();
+        }
+        return targetConverter;
+    }
+
+    private PropertyEditor getSourcePropertyEditor() {
+        if (!isPropertyEditorCachingEnabled()) return resolveSourcePropertyEditor();
+        if (sourceEditor == null) sourceEditor = resolveSourcePropertyEditor();
+        return sourceEditor;
+    }
+
+    private PropertyEditor getTargetPropertyEditor() {
+        if (!isPropertyEditorCachingEnabled()) return resolveTargetPropertyEditor();
+        if (targetEditor == null) targetEditor = resolveTargetPropertyEditor();
+        return targetEditor;
+    }
+
     protected PropertyEditor resolveTargetPropertyEditor() {
         PropertyEditor editor = doResolveTargetPropertyEditor();
         configureTargetPropertyEditor(editor);
@@ -141,10 +277,19 @@ public abstract class AbstractPropertyBinding implements Disposable {
     }
 
     private void applySourcePropertyValue(final Object value) {
+        if (isUpdateCoalescingEnabled()) {
+            BindingUpdateScheduler.getInstance().schedule(this, value);
+            return;
+        }
         UIThreadManager.getInstance().executeAsync(new Runnable() {
             public void run() {
                 setSourcePropertyValue(value);
             }
         });
     }
+
+    void flushSourcePropertyValue(Object value) {
+        if (constrainedProperty == null) return;
+        setSourcePropertyValue(value);
+    }
 }
@@ -0,0 +1,504 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.exceptions.BeanInstantiationException;
+import griffon.plugins.scaffolding.atoms.*;
+import griffon.plugins.scaffolding.atoms.StringValue;
+import org.joda.time.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static griffon.util.GriffonExceptionHandler.sanitize;
+
+/**
+ * Registry of {@code AtomicValueFactory} instances.<p>
+ * Factories are kept per atomic value class and per value type. Built-in atomic
+ * values are created by plain constructor calls; factories for other atomic value
+ * classes are created on demand and reuse the class' no-args constructor, which
+ * is looked up when the factory is created. Registering an {@code AtomicValueFactory}
+ * avoids reflection altogether.<p>
+ * {@link #resolveFactory(Class)} also matches subclasses and implementations of
+ * registered value types (e.g. {@code java.sql.Timestamp} resolves to the factory
+ * of {@code java.util.Date}) as well as enum types. Lookups walk the type hierarchy
+ * once per concrete class; answers, misses included, are memoized until the next
+ * registration. Memoized entries hold strong references to the classes they were
+ * resolved for, so value types looked up here stay loaded until a registration
+ * discards the memoized answers. That is harmless as long as the types share the
+ * application's class loader, which outlives the registry; code that resolves
+ * types from short-lived class loaders should register a type afterwards (or
+ * re-register an existing one) to release them.
+ *
+ * @author Andres Almiray
+ */
+public final class AtomicValueRegistry {
+    private static final ConcurrentMap<Class, AtomicValueFactory> FACTORIES = new ConcurrentHashMap<Class, AtomicValueFactory>();
+    private static final ConcurrentMap<Class, AtomicValueFactory> TYPES = new ConcurrentHashMap<Class, AtomicValueFactory>();
+    // values are either factories or NO_FACTORY
+    private static final ConcurrentMap<Class, Object> RESOLVED = new ConcurrentHashMap<Class, Object>();
+    private static final Object NO_FACTORY = new Object();
+    private static final Map<Class, Class> ATOMIC_VALUE_TYPES = Collections.unmodifiableMap(new AtomicValueTypes());
+
+    static {
+        registerDefaults();
+    }
+
+    private AtomicValueRegistry() {
+    }
+
+    /**
+     * Registers a factory for its atomic value class.
+     */
+    public static void registerFactory(AtomicValueFactory factory) {
+        FACTORIES.put(factory.getAtomicValueType(), factory);
+    }
+
+    /**
+     * Registers a factory for its atomic value class and for the given value type.
+     */
+    public static void registerFactory(Class valueType, AtomicValueFactory factory) {
+        registerFactory(factory);
+        TYPES.put(valueType, factory);
+        RESOLVED.clear();
+    }
+
+    /**
+     * Registers the atomic value class to be used for the given value type.
+     */
+    public static void registerAtomicValue(Class valueType, Class atomicValueType) {
+        TYPES.put(valueType, factoryOf(atomicValueType));
+        RESOLVED.clear();
+    }
+
+    /**
+     * Returns an unmodifiable live view of the atomic value class registered for each value type.
+     */
+    public static Map<Class, Class> getAtomicValueTypes() {
+        return ATOMIC_VALUE_TYPES;
+    }
+
+    /**
+     * Returns the factory registered for the given value type, {@code null} if there is none.
+     */
+    public static AtomicValueFactory findFactory(Class valueType) {
+        return TYPES.get(valueType);
+    }
+
+    /**
+     * Returns the factory registered for the given value type or for its closest
+     * registered superclass or interface. Enum types not registered otherwise
+     * resolve to a factory of {@code EnumValue}.
+     *
+     * @return the matching factory or {@code null} if there is none
+     */
+    public static AtomicValueFactory resolveFactory(Class valueType) {
+        Object factory = RESOLVED.get(valueType);
+        if (factory == null) {
+            factory = doResolveFactory(valueType);
+            if (factory == null) factory = NO_FACTORY;
+            RESOLVED.putIfAbsent(valueType, factory);
+        }
+        return factory == NO_FACTORY ? null : (AtomicValueFactory) factory;
+    }
+
+    private static AtomicValueFactory doResolveFactory(Class valueType) {
+        for (Class type = valueType; type != null; type = type.getSuperclass()) {
+            AtomicValueFactory factory = TYPES.get(type);
+            if (factory != null) return factory;
+        }
+
+        Set<Class> visited = new HashSet<Class>();
+        LinkedList<Class> interfaces = new LinkedList<Class>();
+        for (Class type = valueType; type != null; type = type.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class type = interfaces.removeFirst();
+            if (!visited.add(type)) continue;
+            AtomicValueFactory factory = TYPES.get(type);
+            if (factory != null) return factory;
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+
+        if (Enum.class.isAssignableFrom(valueType) && valueType != Enum.class) {
+            Class enumType = valueType;
+            while (!enumType.isEnum()) enumType = enumType.getSuperclass();
+            return new EnumValueFactory(enumType);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the factory of the given atomic value class, creating one if needed.
+     *
+     * @throws IllegalArgumentException if a factory must be created and the class has no no-args constructor
+     */
+    public static AtomicValueFactory factoryOf(Class atomicValueType) {
+        AtomicValueFactory factory = FACTORIES.get(atomicValueType);
+        if (factory == null) {
+            factory = new ConstructorAtomicValueFactory(atomicValueType);
+            AtomicValueFactory existing = FACTORIES.putIfAbsent(atomicValueType, factory);
+            if (existing != null) factory = existing;
+        }
+        return factory;
+    }
+
+    /**
+     * Wraps a value with an instance of the given atomic value class. {@code EnumValue}
+     * requires a non-null enum constant, as its enum type is taken from the value.
+     */
+    public static AtomicValue wrap(Object value, Class atomicValueType) {
+        AtomicValueFactory factory;
+        if (atomicValueType == EnumValue.class) {
+            if (!(value instanceof Enum)) {
+                throw new IllegalArgumentException("Cannot wrap " + value + " with EnumValue without knowing its enum type, use wrapValue() instead");
+            }
+            factory = resolveFactory(value.getClass());
+        } else {
+            factory = factoryOf(atomicValueType);
+        }
+        AtomicValue atom = factory.create();
+        atom.setValue(value);
+        return atom;
+    }
+
+    /**
+     * Wraps a value with the atomic value that {@link #resolveFactory(Class)} finds
+     * for the given value type.
+     *
+     * @throws IllegalArgumentException if no atomic value supports the value type
+     */
+    public static AtomicValue wrapValue(Object value, Class valueType) {
+        AtomicValueFactory factory = resolveFactory(valueType);
+        if (factory == null) {
+            throw new IllegalArgumentException("No AtomicValue supports values of type " + valueType.getName());
+        }
+        AtomicValue atom = factory.create();
+        atom.setValue(value);
+        return atom;
+    }
+
+    public abstract static class AbstractAtomicValueFactory implements AtomicValueFactory {
+        private final Class atomicValueType;
+
+        protected AbstractAtomicValueFactory(Class atomicValueType) {
+            this.atomicValueType = atomicValueType;
+        }
+
+        public Class getAtomicValueType() {
+            return atomicValueType;
+        }
+    }
+
+    private static final class EnumValueFactory extends AbstractAtomicValueFactory {
+        private final Class enumType;
+
+        private EnumValueFactory(Class enumType) {
+            super(EnumValue.class);
+            this.enumType = enumType;
+        }
+
+        @SuppressWarnings("unchecked")
+        public AtomicValue create() {
+            return new EnumValue(enumType);
+        }
+    }
+
+    private static final class ConstructorAtomicValueFactory extends AbstractAtomicValueFactory {
+        private final Constructor constructor;
+
+        private ConstructorAtomicValueFactory(Class atomicValueType) {
+            super(atomicValueType);
+            try {
+                constructor = atomicValueType.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("AtomicValue " + atomicValueType.getName() + " has no no-args constructor", e);
+            }
+        }
+
+        public AtomicValue create() {
+            try {
+                return (AtomicValue) constructor.newInstance();
+            } catch (InstantiationException e) {
+                throw instantiationException(e);
+            } catch (IllegalAccessException e) {
+                throw instantiationException(e);
+            } catch (InvocationTargetException e) {
+                throw instantiationException(e);
+            }
+        }
+
+        private static BeanInstantiationException instantiationException(Exception e) {
+            BeanInstantiationException x = new BeanInstantiationException(e);
+            sanitize(x);
+            return x;
+        }
+    }
+
+    private static final class AtomicValueTypes extends AbstractMap<Class, Class> {
+        private final Set<Map.Entry<Class, Class>> entries = new AbstractSet<Map.Entry<Class, Class>>() {
+            public Iterator<Map.Entry<Class, Class>> iterator() {
+                final Iterator<Map.Entry<Class, AtomicValueFactory>> it = TYPES.entrySet().iterator();
+                return new Iterator<Map.Entry<Class, Class>>() {
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    public Map.Entry<Class, Class> next() {
+                        Map.Entry<Class, AtomicValueFactory> entry = it.next();
+                        return new SimpleImmutableEntry<Class, Class>(entry.getKey(), entry.getValue().getAtomicValueType());
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            public int size() {
+                return TYPES.size();
+            }
+        };
+
+        public Set<Map.Entry<Class, Class>> entrySet() {
+            return entries;
+        }
+
+        public int size() {
+            return TYPES.size();
+        }
+
+        public boolean containsKey(Object valueType) {
+            return TYPES.containsKey(valueType);
+        }
+
+        public Class get(Object valueType) {
+            AtomicValueFactory factory = TYPES.get(valueType);
+            return factory != null ? factory.getAtomicValueType() : null;
+        }
+    }
+
+    private static void registerDefaults() {
+        registerFactory(new AbstractAtomicValueFactory(BigDecimalValue.class) {
+            public AtomicValue create() {
+                return new BigDecimalValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(BigIntegerValue.class) {
+            public AtomicValue create() {
+                return new BigIntegerValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(BooleanValue.class) {
+            public AtomicValue create() {
+                return new BooleanValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(ByteValue.class) {
+            public AtomicValue create() {
+                return new ByteValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(CalendarValue.class) {
+            public AtomicValue create() {
+                return new CalendarValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(DateValue.class) {
+            public AtomicValue create() {
+                return new DateValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(DoubleValue.class) {
+            public AtomicValue create() {
+                return new DoubleValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(FloatValue.class) {
+            public AtomicValue create() {
+                return new FloatValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(IntegerValue.class) {
+            public AtomicValue create() {
+                return new IntegerValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(LongValue.class) {
+            public AtomicValue create() {
+                return new LongValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(ShortValue.class) {
+            public AtomicValue create() {
+                return new ShortValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(StringValue.class) {
+            public AtomicValue create() {
+                return new StringValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(DateTimeValue.class) {
+            public AtomicValue create() {
+                return new DateTimeValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(DateTimeZoneValue.class) {
+            public AtomicValue create() {
+                return new DateTimeZoneValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(LocalDateValue.class) {
+            public AtomicValue create() {
+                return new LocalDateValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(LocalDateTimeValue.class) {
+            public AtomicValue create() {
+                return new LocalDateTimeValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(LocalTimeValue.class) {
+            public AtomicValue create() {
+                return new LocalTimeValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(InstantValue.class) {
+            public AtomicValue create() {
+                return new InstantValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(YearsValue.class) {
+            public AtomicValue create() {
+                return new YearsValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(MonthsValue.class) {
+            public AtomicValue create() {
+                return new MonthsValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(WeeksValue.class) {
+            public AtomicValue create() {
+                return new WeeksValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(DaysValue.class) {
+            public AtomicValue create() {
+                return new DaysValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(HoursValue.class) {
+            public AtomicValue create() {
+                return new HoursValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(MinutesValue.class) {
+            public AtomicValue create() {
+                return new MinutesValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(SecondsValue.class) {
+            public AtomicValue create() {
+                return new SecondsValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(DurationValue.class) {
+            public AtomicValue create() {
+                return new DurationValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(UnboxedBooleanValue.class) {
+            public AtomicValue create() {
+                return new UnboxedBooleanValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(UnboxedByteValue.class) {
+            public AtomicValue create() {
+                return new UnboxedByteValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(UnboxedDoubleValue.class) {
+            public AtomicValue create() {
+                return new UnboxedDoubleValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(UnboxedFloatValue.class) {
+            public AtomicValue create() {
+                return new UnboxedFloatValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(UnboxedIntegerValue.class) {
+            public AtomicValue create() {
+                return new UnboxedIntegerValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(UnboxedLongValue.class) {
+            public AtomicValue create() {
+                return new UnboxedLongValue();
+            }
+        });
+        registerFactory(new AbstractAtomicValueFactory(UnboxedShortValue.class) {
+            public AtomicValue create() {
+                return new UnboxedShortValue();
+            }
+        });
+
+        registerAtomicValue(BigDecimal.class, BigDecimalValue.class);
+        registerAtomicValue(BigInteger.class, BigIntegerValue.class);
+        registerAtomicValue(Boolean.class, BooleanValue.class);
+        registerAtomicValue(Byte.class, ByteValue.class);
+        registerAtomicValue(Calendar.class, CalendarValue.class);
+        registerAtomicValue(Date.class, DateValue.class);
+        registerAtomicValue(Double.class, DoubleValue.class);
+        registerAtomicValue(Float.class, FloatValue.class);
+        registerAtomicValue(Integer.class, IntegerValue.class);
+        registerAtomicValue(Long.class, LongValue.class);
+        registerAtomicValue(Short.class, ShortValue.class);
+        registerAtomicValue(String.class, StringValue.class);
+        registerAtomicValue(Boolean.TYPE, BooleanValue.class);
+        registerAtomicValue(Byte.TYPE, ByteValue.class);
+        registerAtomicValue(Double.TYPE, DoubleValue.class);
+        registerAtomicValue(Float.TYPE, FloatValue.class);
+        registerAtomicValue(Integer.TYPE, IntegerValue.class);
+        registerAtomicValue(Long.TYPE, LongValue.class);
+        registerAtomicValue(Short.TYPE, ShortValue.class);
+        registerAtomicValue(DateTime.class, DateTimeValue.class);
+        registerAtomicValue(DateTimeZone.class, DateTimeZoneValue.class);
+        registerAtomicValue(LocalDate.class, LocalDateValue.class);
+        registerAtomicValue(LocalDateTime.class, LocalDateTimeValue.class);
+        registerAtomicValue(LocalTime.class, LocalTimeValue.class);
+        registerAtomicValue(Instant.class, InstantValue.class);
+        registerAtomicValue(Years.class, YearsValue.class);
+        registerAtomicValue(Months.class, MonthsValue.class);
+        registerAtomicValue(Weeks.class, WeeksValue.class);
+        registerAtomicValue(Days.class, DaysValue.class);
+        registerAtomicValue(Hours.class, HoursValue.class);
+        registerAtomicValue(Minutes.class, MinutesValue.class);
+        registerAtomicValue(Seconds.class, SecondsValue.class);
+        registerAtomicValue(Duration.class, DurationValue.class);
+    }
+}
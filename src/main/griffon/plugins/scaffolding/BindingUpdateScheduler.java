@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.core.UIThreadManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static griffon.util.GriffonExceptionHandler.sanitize;
+
+/**
+ * Coalesces source updates of property bindings into batched UI thread tasks.<p>
+ * Only the latest pending value of each binding is kept. The first update posted
+ * while no flush is pending schedules a single task on the UI thread; that task
+ * applies every value pending at the time it runs, in the order bindings were
+ * first scheduled. Updates posted while a flush runs are applied by the next one.
+ * If applying a value fails the remaining values are applied all the same, then
+ * the first failure is rethrown so it reaches the UI thread's exception handling;
+ * further failures of the same flush are logged.
+ *
+ * @author Andres Almiray
+ */
+public final class BindingUpdateScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(BindingUpdateScheduler.class);
+    private static final BindingUpdateScheduler INSTANCE = new BindingUpdateScheduler();
+
+    private final Object LOCK = new Object[0];
+    private final Map<AbstractPropertyBinding, Object> pending = new LinkedHashMap<AbstractPropertyBinding, Object>();
+    private boolean flushScheduled;
+
+    private final Runnable flushTask = new Runnable() {
+        public void run() {
+            flush();
+        }
+    };
+
+    public static BindingUpdateScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    private BindingUpdateScheduler() {
+    }
+
+    public void schedule(AbstractPropertyBinding binding, Object value) {
+        boolean scheduleFlush;
+        synchronized (LOCK) {
+            pending.put(binding, value);
+            scheduleFlush = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (scheduleFlush) {
+            UIThreadManager.getInstance().executeAsync(flushTask);
+        }
+    }
+
+    /**
+     * Discards the pending update of the given binding, if any.
+     */
+    public void cancel(AbstractPropertyBinding binding) {
+        synchronized (LOCK) {
+            pending.remove(binding);
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (LOCK) {
+            return pending.size();
+        }
+    }
+
+    private void flush() {
+        List<AbstractPropertyBinding> bindings;
+        List<Object> values;
+        synchronized (LOCK) {
+            bindings = new ArrayList<AbstractPropertyBinding>(pending.keySet());
+            values = new ArrayList<Object>(pending.values());
+            pending.clear();
+            flushScheduled = false;
+        }
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Applying " + bindings.size() + " coalesced binding updates");
+        }
+
+        // one failing binding must not drop the updates of the others
+        RuntimeException failure = null;
+        for (int i = 0; i < bindings.size(); i++) {
+            try {
+                bindings.get(i).flushSourcePropertyValue(values.get(i));
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else if (LOG.isWarnEnabled()) {
+                    LOG.warn("An error occurred while updating a binding source", sanitize(e));
+                }
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Thread safe cache that holds about {@code maxSize} entries.<p>
+ * Reads never lock: every entry records the time of its last access, and once a
+ * write pushes the cache over its limit the least recently used tenth of the
+ * entries is evicted by that writer. Eviction is approximate, the cache may
+ * briefly hold more than {@code maxSize} entries while writers race, and an
+ * entry read during eviction may still be removed.
+ *
+ * @author Andres Almiray
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final int evictionSize;
+    private final ConcurrentMap<K, Node<V>> entries = new ConcurrentHashMap<K, Node<V>>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public BoundedCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid cache size " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.evictionSize = Math.max(1, maxSize / 10);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public V get(K key) {
+        Node<V> node = entries.get(key);
+        if (node == null) return null;
+        node.accessed = System.nanoTime();
+        return node.value;
+    }
+
+    public boolean contains(K key) {
+        Node<V> node = entries.get(key);
+        if (node == null) return false;
+        node.accessed = System.nanoTime();
+        return true;
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Node<V>(value));
+        if (entries.size() > maxSize) evict();
+    }
+
+    public V remove(K key) {
+        Node<V> node = entries.remove(key);
+        return node != null ? node.value : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a live view of the cached keys. Removing a key through the view
+     * or its iterator removes the entry from the cache.
+     */
+    public Set<K> keySet() {
+        return entries.keySet();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evict() {
+        // a single writer evicts at a time, the others carry on
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            int excess = entries.size() - maxSize;
+            if (excess <= 0) return;
+            // access times keep moving while readers run, work on a snapshot of them
+            long[] accessed = new long[entries.size()];
+            int n = 0;
+            for (Node<V> node : entries.values()) {
+                if (n == accessed.length) break;
+                accessed[n++] = node.accessed;
+            }
+            if (n == 0) return;
+            Arrays.sort(accessed, 0, n);
+            int count = Math.min(n, excess + evictionSize);
+            long cutoff = accessed[count - 1];
+            for (Iterator<Map.Entry<K, Node<V>>> it = entries.entrySet().iterator(); it.hasNext() && count > 0; ) {
+                Map.Entry<K, Node<V>> entry = it.next();
+                if (entry.getValue().accessed <= cutoff && entries.remove(entry.getKey(), entry.getValue())) count--;
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private volatile long accessed = System.nanoTime();
+
+        private Node(V value) {
+            this.value = value;
+        }
+    }
+}
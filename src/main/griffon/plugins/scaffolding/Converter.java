@@ -0,0 +1,35 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.core.resources.editors.ValueConversionException;
+
+/**
+ * Converts values of type {@code S} into values of type {@code T}.<p>
+ * Implementations must be stateless and thread safe. Converters stand in for property
+ * editors, they must either produce the value the editor would produce or throw a
+ * {@code ValueConversionException}, in which case bindings hand the value to the editor.
+ *
+ * @author Andres Almiray
+ */
+public interface Converter<S, T> {
+    Class<S> getSourceType();
+
+    Class<T> getTargetType();
+
+    T convert(S value) throws ValueConversionException;
+}
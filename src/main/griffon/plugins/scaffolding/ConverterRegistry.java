@@ -0,0 +1,277 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.core.resources.editors.ValueConversionException;
+import griffon.plugins.scaffolding.converters.*;
+import griffon.util.ApplicationClassLoader;
+import griffon.util.RunnableWithArgs;
+import griffon.util.RunnableWithArgsClosure;
+import org.joda.time.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static griffon.util.GriffonExceptionHandler.sanitize;
+import static griffon.util.GriffonNameUtils.isBlank;
+import static org.codehaus.groovy.runtime.ResourceGroovyMethods.eachLine;
+
+/**
+ * Registry of {@code Converter}s, keyed by source and target type.<p>
+ * Built-in converters cover every type supported by atomic values, parsing text
+ * only where no format is involved (numbers and booleans). Additional converters
+ * may be registered by listing their class names in
+ * {@code META-INF/services/griffon.plugins.scaffolding.Converter}; converters
+ * registered later take precedence over the built-in ones.<p>
+ * Lookups walk the superclasses and interfaces of the source type. Results,
+ * including failed lookups, are memoized until the next registration.
+ *
+ * @author Andres Almiray
+ */
+public final class ConverterRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(ConverterRegistry.class);
+
+    private static final ConcurrentMap<ConverterKey, Converter> CONVERTERS = new ConcurrentHashMap<ConverterKey, Converter>();
+    private static final ConcurrentMap<ConverterKey, Converter> RESOLVED = new ConcurrentHashMap<ConverterKey, Converter>();
+    private static final Converter NO_CONVERTER = new IdentityConverter(Object.class);
+
+    private static final Map<Class, Class> PRIMITIVE_WRAPPERS = new HashMap<Class, Class>();
+
+    static {
+        PRIMITIVE_WRAPPERS.put(Boolean.TYPE, Boolean.class);
+        PRIMITIVE_WRAPPERS.put(Byte.TYPE, Byte.class);
+        PRIMITIVE_WRAPPERS.put(Short.TYPE, Short.class);
+        PRIMITIVE_WRAPPERS.put(Integer.TYPE, Integer.class);
+        PRIMITIVE_WRAPPERS.put(Long.TYPE, Long.class);
+        PRIMITIVE_WRAPPERS.put(Float.TYPE, Float.class);
+        PRIMITIVE_WRAPPERS.put(Double.TYPE, Double.class);
+        PRIMITIVE_WRAPPERS.put(Character.TYPE, Character.class);
+
+        registerDefaults();
+    }
+
+    private ConverterRegistry() {
+    }
+
+    /**
+     * Registers additional converters listed in {@code META-INF/services/griffon.plugins.scaffolding.Converter}.
+     */
+    public static void initialize() {
+        initialize(ApplicationClassLoader.get());
+    }
+
+    static void initialize(ClassLoader classLoader) {
+        Enumeration<URL> urls = null;
+
+        try {
+            urls = classLoader.getResources("META-INF/services/" + Converter.class.getName());
+        } catch (IOException ioe) {
+            return;
+        }
+
+        if (urls == null) return;
+
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Reading " + Converter.class.getName() + " definitions from " + url);
+            }
+
+            try {
+                eachLine(url, new RunnableWithArgsClosure(new RunnableWithArgs() {
+                    @Override
+                    public void run(Object[] args) {
+                        String line = (String) args[0];
+                        if (line.startsWith("#") || isBlank(line)) return;
+                        try {
+                            Class converterClass = ScaffoldingUtils.loadClass(line.trim());
+                            registerConverter((Converter) converterClass.newInstance());
+                        } catch (Exception e) {
+                            if (LOG.isWarnEnabled()) {
+                                LOG.warn("Could not load Converter with " + line, sanitize(e));
+                            }
+                        }
+                    }
+                }));
+            } catch (IOException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Could not load Converter definitions from " + url, sanitize(e));
+                }
+            }
+        }
+    }
+
+    public static void registerConverter(Converter converter) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Registering converter " + converter);
+        }
+        CONVERTERS.put(new ConverterKey(converter.getSourceType(), wrapperOf(converter.getTargetType())), converter);
+        RESOLVED.clear();
+    }
+
+    /**
+     * Finds a converter for values of the given source type into the target type.
+     * Primitive target types are treated as their wrappers.
+     *
+     * @return a matching converter or {@code null} if there is none
+     */
+    public static Converter findConverter(Class sourceType, Class targetType) {
+        targetType = wrapperOf(targetType);
+        ConverterKey key = new ConverterKey(sourceType, targetType);
+        Converter converter = RESOLVED.get(key);
+        if (converter == null) {
+            converter = doFindConverter(sourceType, targetType);
+            if (converter == null) converter = NO_CONVERTER;
+            RESOLVED.putIfAbsent(key, converter);
+        }
+        return converter == NO_CONVERTER ? null : converter;
+    }
+
+    /**
+     * Discards memoized lookups.
+     */
+    public static void invalidate() {
+        RESOLVED.clear();
+    }
+
+    private static Converter doFindConverter(Class sourceType, Class targetType) {
+        if (targetType.isAssignableFrom(sourceType)) {
+            return new IdentityConverter(targetType);
+        }
+
+        for (Class type = sourceType; type != null; type = type.getSuperclass()) {
+            Converter converter = CONVERTERS.get(new ConverterKey(type, targetType));
+            if (converter != null) return converter;
+        }
+
+        Set<Class> visited = new HashSet<Class>();
+        LinkedList<Class> interfaces = new LinkedList<Class>();
+        for (Class type = sourceType; type != null; type = type.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class type = interfaces.removeFirst();
+            if (!visited.add(type)) continue;
+            Converter converter = CONVERTERS.get(new ConverterKey(type, targetType));
+            if (converter != null) return converter;
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+
+        return null;
+    }
+
+    private static Class wrapperOf(Class type) {
+        Class wrapper = PRIMITIVE_WRAPPERS.get(type);
+        return wrapper != null ? wrapper : type;
+    }
+
+    private static void registerDefaults() {
+        Class[] numericTypes = {
+            BigDecimal.class, BigInteger.class, Byte.class, Double.class,
+            Float.class, Integer.class, Long.class, Short.class
+        };
+        for (Class numericType : numericTypes) {
+            register(new NumberConverter(numericType));
+            register(new CharSequenceToNumberConverter(numericType));
+        }
+
+        register(new CharSequenceToBooleanConverter());
+        register(new ObjectToStringConverter());
+
+        Class[] temporalSources = {
+            Date.class, Calendar.class, Number.class, ReadableInstant.class, LocalDate.class, LocalDateTime.class
+        };
+        for (Class sourceType : temporalSources) {
+            register(new DateConverter(sourceType));
+            register(new CalendarConverter(sourceType));
+            register(new JodaTemporalConverter(sourceType, DateTime.class));
+            register(new JodaTemporalConverter(sourceType, Instant.class));
+            register(new JodaTemporalConverter(sourceType, LocalDate.class));
+            register(new JodaTemporalConverter(sourceType, LocalDateTime.class));
+            register(new JodaTemporalConverter(sourceType, LocalTime.class));
+        }
+
+        Class[] periodTypes = {
+            Years.class, Months.class, Weeks.class, Days.class,
+            Hours.class, Minutes.class, Seconds.class, Duration.class
+        };
+        for (Class periodType : periodTypes) {
+            register(new JodaPeriodConverter(periodType));
+        }
+
+        register(new DateTimeZoneConverter(TimeZone.class));
+        register(new DateTimeZoneConverter(CharSequence.class));
+    }
+
+    private static void register(Converter converter) {
+        CONVERTERS.put(new ConverterKey(converter.getSourceType(), converter.getTargetType()), converter);
+    }
+
+    private static final class IdentityConverter implements Converter {
+        private final Class type;
+
+        private IdentityConverter(Class type) {
+            this.type = type;
+        }
+
+        public Class getSourceType() {
+            return type;
+        }
+
+        public Class getTargetType() {
+            return type;
+        }
+
+        public Object convert(Object value) throws ValueConversionException {
+            return value;
+        }
+    }
+
+    private static final class ConverterKey {
+        private final Class sourceType;
+        private final Class targetType;
+        private final int hashCode;
+
+        private ConverterKey(Class sourceType, Class targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.hashCode = 31 * sourceType.hashCode() + targetType.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ConverterKey)) return false;
+
+            ConverterKey that = (ConverterKey) o;
+
+            return sourceType == that.sourceType && targetType == that.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
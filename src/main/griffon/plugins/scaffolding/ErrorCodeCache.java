@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.core.GriffonApplication;
+
+import java.util.Locale;
+
+import static griffon.util.ApplicationHolder.getApplication;
+import static griffon.util.ConfigUtils.getConfigValueAsInt;
+
+/**
+ * Application wide cache of resolved validation error codes.<p>
+ * Maps the list of codes of an error plus the current locale to the first code
+ * that has a message, or to {@link #NO_CODE} if none of them do. The cache holds
+ * at most {@code scaffolding.cache.errorCodes.size} entries (defaults to
+ * {@value #DEFAULT_SIZE}) and is cleared whenever a different locale is seen.
+ *
+ * @author Andres Almiray
+ */
+public final class ErrorCodeCache {
+    public static final int DEFAULT_SIZE = 1024;
+    public static final String NO_CODE = "";
+    private static final String KEY_SIZE = "scaffolding.cache.errorCodes.size";
+
+    private static final Object LOCK = new Object[0];
+    private static volatile Locale currentLocale;
+
+    private ErrorCodeCache() {
+    }
+
+    /**
+     * Returns the cached code for the given codes and locale. A return value of
+     * {@code null} means nothing is cached yet, {@link #NO_CODE} means that none
+     * of the codes could be resolved.
+     */
+    public static String get(String[] errorCodes, Locale locale) {
+        checkLocale(locale);
+        return codes().get(new ErrorKey(errorCodes, locale));
+    }
+
+    public static void put(String[] errorCodes, Locale locale, String code) {
+        checkLocale(locale);
+        codes().put(new ErrorKey(errorCodes, locale), code);
+    }
+
+    public static int size() {
+        return codes().size();
+    }
+
+    public static void invalidate() {
+        codes().clear();
+    }
+
+    private static void checkLocale(Locale locale) {
+        if (locale != null && !locale.equals(currentLocale)) {
+            synchronized (LOCK) {
+                if (!locale.equals(currentLocale)) {
+                    codes().clear();
+                    currentLocale = locale;
+                }
+            }
+        }
+    }
+
+    private static BoundedCache<ErrorKey, String> codes() {
+        return Codes.CODES;
+    }
+
+    // initialized on first use, by then the application's config is available
+    private static final class Codes {
+        private static final BoundedCache<ErrorKey, String> CODES = new BoundedCache<ErrorKey, String>(size());
+
+        private static int size() {
+            GriffonApplication app = getApplication();
+            return app == null ? DEFAULT_SIZE : getConfigValueAsInt(app.getConfig(), KEY_SIZE, DEFAULT_SIZE);
+        }
+    }
+}
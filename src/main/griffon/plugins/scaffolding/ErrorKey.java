@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Identifies the codes of a validation error in a given locale.<p>
+ * The hash code is computed once, as keys are built for every error that is
+ * rendered. The codes array is not copied, callers must not modify it.
+ *
+ * @author Andres Almiray
+ */
+final class ErrorKey {
+    private final String[] codes;
+    private final Locale locale;
+    private final int hashCode;
+
+    ErrorKey(String[] codes, Locale locale) {
+        this.codes = codes;
+        this.locale = locale;
+        this.hashCode = 31 * Arrays.hashCode(codes) + (locale != null ? locale.hashCode() : 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ErrorKey)) return false;
+
+        ErrorKey that = (ErrorKey) o;
+
+        return hashCode == that.hashCode &&
+            Arrays.equals(codes, that.codes) &&
+            (locale != null ? locale.equals(that.locale) : that.locale == null);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
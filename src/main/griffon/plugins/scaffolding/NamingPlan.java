@@ -0,0 +1,263 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.core.GriffonController;
+import griffon.core.GriffonControllerClass;
+import griffon.plugins.validation.Validateable;
+import griffon.plugins.validation.constraints.ConstrainedProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static griffon.plugins.scaffolding.ScaffoldingUtils.*;
+import static griffon.util.GriffonNameUtils.capitalize;
+import static griffon.util.GriffonNameUtils.getLogicalPropertyName;
+
+/**
+ * Precomputed naming prefixes for a given controller class, action name and
+ * validateable class.<p>
+ * Every candidate name produced by {@code ScaffoldingUtils} is built on top of
+ * the same handful of prefixes; computing them once per combination avoids
+ * rebuilding them for every property of a form. Candidate arrays are memoized
+ * as well and shared between callers, thus they must not be modified; code
+ * outside this package only gets copies through {@code ScaffoldingUtils}.
+ *
+ * @author Andres Almiray
+ */
+final class NamingPlan {
+    private static final String DOT = ".";
+
+    private final Map<String, ConstrainedProperty> constrainedProperties;
+
+    // com.acme.mail.sendmail.mail.
+    private final String actionTemplatePrefix;
+    // com.acme.mail.mail.
+    private final String controllerTemplatePrefix;
+    // com.acme.commands.mail.
+    private final String validateableTemplatePrefix;
+    // templates.scaffolding.
+    private final String applicationTemplatePrefix;
+    // griffon.plugins.scaffolding.templates.
+    private final String defaultTemplatePrefix;
+
+    // com.acme.MailController.sendMail.MailCommandObject.
+    private final String actionMessagePrefix;
+    // com.acme.MailController.MailCommandObject.
+    private final String controllerMessagePrefix;
+    // com.acme.MailCommandObject.
+    private final String controllerPackageMessagePrefix;
+    // com.acme.commands.MailCommandObject. (or null if packages are the same)
+    private final String validateableMessagePrefix;
+
+    // com.acme.mail.sendmail.MailCommandObject, com.acme.mail.MailCommandObject, ...
+    private final String[] mvcMemberBases;
+
+    private final ConcurrentMap<String, String[]> mvcMemberCodes = new ConcurrentHashMap<String, String[]>();
+    private final ConcurrentMap<String, String[]> messageCodes = new ConcurrentHashMap<String, String[]>();
+    private final ConcurrentMap<String, String[]> propertyTemplates = new ConcurrentHashMap<String, String[]>();
+    private final ConcurrentMap<String, String[]> propertyLabelerTemplates = new ConcurrentHashMap<String, String[]>();
+    private final ConcurrentMap<String, String[]> widgetTemplates = new ConcurrentHashMap<String, String[]>();
+    private final ConcurrentMap<String, String[]> widgetLabelerTemplates = new ConcurrentHashMap<String, String[]>();
+
+    NamingPlan(GriffonController controller, String actionName, Validateable validateable) {
+        // Given the following values
+        //   controller    = com.acme.MailController
+        //   actionName    = sendMail
+        //   commandObject = com.acme.commands.MailCommandObject
+        this.constrainedProperties = validateable.constrainedProperties();
+
+        // com.acme.MailController
+        String controllerClassName = controller.getClass().getName();
+        // mail
+        String controllerName = getLogicalPropertyName(controllerClassName, GriffonControllerClass.TRAILING);
+        // sendmail
+        String normalizedActionName = normalizeActionName(controller, actionName);
+        // com.acme
+        String controllerPackageName = controller.getClass().getPackage().getName();
+        // mail
+        String validateableLogicalName = getLogicalPropertyName(validateable.getClass().getName(), COMMAND_OBJECT_SUFFIX);
+        // MailCommandObject | Mail
+        String validateableName = capitalize(validateableLogicalName);
+        boolean commandObject = validateable instanceof CommandObject;
+        if (commandObject) {
+            validateableName += COMMAND_OBJECT_SUFFIX;
+        }
+        // com.acme.commands
+        String validateablePackageName = validateable.getClass().getPackage().getName();
+        boolean samePackage = controllerPackageName.equals(validateablePackageName);
+
+        actionTemplatePrefix = dot(controllerPackageName, controllerName, normalizedActionName, validateableLogicalName) + DOT;
+        controllerTemplatePrefix = dot(controllerPackageName, controllerName, validateableLogicalName) + DOT;
+        validateableTemplatePrefix = dot(validateablePackageName, validateableLogicalName) + DOT;
+        applicationTemplatePrefix = DEFAULT_APPLICATION_TEMPLATE_PATH + DOT;
+        defaultTemplatePrefix = DEFAULT_TEMPLATE_PATH + DOT;
+
+        actionMessagePrefix = dot(controllerClassName, actionName, validateableName) + DOT;
+        controllerMessagePrefix = dot(controllerClassName, validateableName) + DOT;
+        controllerPackageMessagePrefix = dot(controllerPackageName, validateableName) + DOT;
+        validateableMessagePrefix = samePackage ? null : dot(validateablePackageName, validateableName) + DOT;
+
+        List<String> bases = new ArrayList<String>();
+        bases.add(dot(controllerPackageName, controllerName, normalizedActionName, validateableName));
+        bases.add(dot(controllerPackageName, controllerName, validateableName));
+        bases.add(dot(controllerPackageName, validateableName));
+        if (!samePackage) {
+            bases.add(dot(validateablePackageName, validateableName));
+        }
+        bases.add(dot(DEFAULT_APPLICATION_TEMPLATE_PATH, commandObject ? COMMAND_OBJECT_SUFFIX : VALIDATABLE_SUFFIX));
+        bases.add(dot(DEFAULT_TEMPLATE_PATH, COMMAND_OBJECT_SUFFIX));
+        mvcMemberBases = bases.toArray(new String[bases.size()]);
+    }
+
+    String[] mvcMemberCodes(String suffix) {
+        String[] codes = mvcMemberCodes.get(suffix);
+        if (codes == null) {
+            codes = new String[mvcMemberBases.length];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = mvcMemberBases[i] + suffix;
+            }
+            mvcMemberCodes.put(suffix, codes);
+        }
+        return codes;
+    }
+
+    String[] messageCodes(String property) {
+        String[] codes = messageCodes.get(property);
+        if (codes == null) {
+            List<String> list = new ArrayList<String>(5);
+            list.add(actionMessagePrefix + property);
+            list.add(controllerMessagePrefix + property);
+            list.add(controllerPackageMessagePrefix + property);
+            if (validateableMessagePrefix != null) {
+                list.add(validateableMessagePrefix + property);
+            }
+            list.add(KEY_DEFAULT + DOT + property);
+            codes = list.toArray(new String[list.size()]);
+            messageCodes.put(property, codes);
+        }
+        return codes;
+    }
+
+    String[] propertyTemplates(String property) {
+        String[] templates = propertyTemplates.get(property);
+        if (templates == null) {
+            templates = buildPropertyTemplates(property, KEY_TEMPLATE);
+            propertyTemplates.put(property, templates);
+        }
+        return templates;
+    }
+
+    String[] propertyLabelerTemplates(String property) {
+        String[] templates = propertyLabelerTemplates.get(property);
+        if (templates == null) {
+            templates = buildPropertyTemplates(property, KEY_LABELER_TEMPLATE);
+            propertyLabelerTemplates.put(property, templates);
+        }
+        return templates;
+    }
+
+    String[] widgetTemplates(String widget) {
+        String[] templates = widgetTemplates.get(widget);
+        if (templates == null) {
+            templates = buildWidgetTemplates(widget, KEY_TEMPLATE);
+            widgetTemplates.put(widget, templates);
+        }
+        return templates;
+    }
+
+    String[] widgetLabelerTemplates(String widget) {
+        String[] templates = widgetLabelerTemplates.get(widget);
+        if (templates == null) {
+            templates = buildWidgetTemplates(widget, KEY_LABELER_TEMPLATE);
+            widgetLabelerTemplates.put(widget, templates);
+        }
+        return templates;
+    }
+
+    private String[] buildPropertyTemplates(String property, String suffix) {
+        ConstrainedProperty constrainedProperty = constrainedProperties.get(property);
+
+        property = capitalize(property);
+        String simpleType = constrainedProperty.getPropertyType().getSimpleName();
+        boolean isEnumType = constrainedProperty.getPropertyType().isEnum();
+        if ("int".equals(simpleType)) simpleType = "integer";
+        String propertyType = capitalize(getLogicalPropertyName(simpleType, "Value"));
+
+        List<String> templates = new ArrayList<String>(14);
+        // com.acme.mail.sendmail.mail.<property><suffix>
+        templates.add(actionTemplatePrefix + property + suffix);
+        // com.acme.mail.sendmail.mail.<propertyType><suffix>
+        templates.add(actionTemplatePrefix + propertyType + suffix);
+        if (isEnumType) {
+            // com.acme.mail.sendmail.mail.Enum<suffix>
+            templates.add(actionTemplatePrefix + KEY_ENUM + suffix);
+        }
+        // com.acme.mail.mail.<property><suffix>
+        templates.add(controllerTemplatePrefix + property + suffix);
+        // com.acme.mail.mail.<propertyType><suffix>
+        templates.add(controllerTemplatePrefix + propertyType + suffix);
+        if (isEnumType) {
+            // com.acme.mail.mail.Enum<suffix>
+            templates.add(controllerTemplatePrefix + KEY_ENUM + suffix);
+        }
+        // com.acme.commands.mail.<property><suffix>
+        templates.add(validateableTemplatePrefix + property + suffix);
+        // com.acme.commands.mail.<propertyType><suffix>
+        templates.add(validateableTemplatePrefix + propertyType + suffix);
+        if (isEnumType) {
+            // com.acme.commands.mail.Enum<suffix>
+            templates.add(validateableTemplatePrefix + KEY_ENUM + suffix);
+        }
+        // templates.scaffolding.<property><suffix>
+        templates.add(applicationTemplatePrefix + property + suffix);
+        // templates.scaffolding.<propertyType><suffix>
+        templates.add(applicationTemplatePrefix + propertyType + suffix);
+        if (isEnumType) {
+            // templates.scaffolding.Enum<suffix>
+            templates.add(applicationTemplatePrefix + KEY_ENUM + suffix);
+        }
+        // griffon.plugins.scaffolding.templates.<propertyType><suffix>
+        templates.add(defaultTemplatePrefix + propertyType + suffix);
+        if (isEnumType) {
+            // griffon.plugins.scaffolding.templates.Enum<suffix>
+            templates.add(defaultTemplatePrefix + KEY_ENUM + suffix);
+        }
+
+        return templates.toArray(new String[templates.size()]);
+    }
+
+    private String[] buildWidgetTemplates(String widget, String suffix) {
+        widget = capitalize(widget);
+
+        return new String[]{
+            // com.acme.mail.sendmail.mail.<widget><suffix>
+            actionTemplatePrefix + widget + suffix,
+            // com.acme.mail.mail.<widget><suffix>
+            controllerTemplatePrefix + widget + suffix,
+            // com.acme.commands.mail.<widget><suffix>
+            validateableTemplatePrefix + widget + suffix,
+            // templates.scaffolding.<widget><suffix>
+            applicationTemplatePrefix + widget + suffix,
+            // griffon.plugins.scaffolding.templates.<widget><suffix>
+            defaultTemplatePrefix + widget + suffix
+        };
+    }
+}
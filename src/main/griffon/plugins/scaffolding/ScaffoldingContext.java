@@ -16,6 +16,7 @@
 
 package griffon.plugins.scaffolding;
 
+import griffon.core.GriffonApplication;
 import griffon.core.GriffonController;
 import griffon.core.i18n.NoSuchMessageException;
 import griffon.plugins.validation.FieldObjectError;
@@ -24,32 +25,41 @@ import griffon.plugins.validation.Validateable;
 import griffon.plugins.validation.constraints.ConstrainedProperty;
 import griffon.util.ApplicationClassLoader;
 import groovy.lang.Binding;
-import groovy.util.ConfigObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.*;
 
 import static griffon.plugins.scaffolding.ScaffoldingUtils.*;
-import static griffon.util.ConfigUtils.getConfigValue;
+import static griffon.plugins.scaffolding.TemplateResolutionCache.Kind.LABELER;
+import static griffon.plugins.scaffolding.TemplateResolutionCache.Kind.WIDGET;
 import static griffon.util.GriffonNameUtils.isBlank;
 
 /**
+ * Holds the state required to scaffold a form for a validateable.<p>
+ * A context serves a single form and must not be shared between displays, as
+ * {@link #dispose()} releases its controller, validateable and bindings. Resolved
+ * templates are shared across contexts by the {@code TemplateResolutionCache},
+ * which keeps creating a context per display cheap. Template caches are safe for
+ * concurrent use; each widget and labeler template is resolved only once per
+ * property even if several threads request it at the same time. Error codes are
+ * resolved through the shared {@code ErrorCodeCache}.
+ *
  * @author Andres Almiray
  */
 public class ScaffoldingContext implements Disposable {
     private final Logger LOG = LoggerFactory.getLogger(ScaffoldingContext.class);
-    private Binding binding;
-    private GriffonController controller;
-    private String actionName;
-    private Validateable validateable;
+    private volatile Binding binding;
+    private volatile GriffonController controller;
+    private volatile String actionName;
+    private volatile Validateable validateable;
 
-    private final Map<String, Class> widgetTemplates = new LinkedHashMap<String, Class>();
-    private final Map<String, Class> labelerTemplates = new LinkedHashMap<String, Class>();
-    private final List<Disposable> disposables = new ArrayList<Disposable>();
-    private final Map<String, String> errorCodes = new TreeMap<String, String>();
+    private final ConcurrentMap<String, FutureTask<Class>> widgetTemplates = new ConcurrentHashMap<String, FutureTask<Class>>();
+    private final ConcurrentMap<String, FutureTask<Class>> labelerTemplates = new ConcurrentHashMap<String, FutureTask<Class>>();
+    private final CopyOnWriteArrayList<Disposable> disposables = new CopyOnWriteArrayList<Disposable>();
 
     protected ScaffoldingContext() {
 
@@ -88,8 +98,8 @@ public class ScaffoldingContext implements Disposable {
     }
 
     public void addDisposable(Disposable disposable) {
-        if (disposable == null || disposables.contains(disposable)) return;
-        disposables.add(disposable);
+        if (disposable == null) return;
+        disposables.addIfAbsent(disposable);
     }
 
     public void dispose() {
@@ -104,12 +114,8 @@ public class ScaffoldingContext implements Disposable {
 
     @SuppressWarnings("unchecked")
     public Map<String, Object> widgetAttributes(String widget, ConstrainedProperty constrainedProperty) {
-        ConfigObject config = new ConfigObject();
-        config.putAll((ConfigObject) getConfigValue(getUiDefaults(), "widget", new ConfigObject()));
-        config.putAll((ConfigObject) getConfigValue(getUiDefaults(), widget, new ConfigObject()));
-        config.putAll(constrainedProperty.getAttributes());
-        Map<String, Object> attributes = new LinkedHashMap<String, Object>();
-        attributes.putAll(config);
+        Map<String, Object> attributes = new LinkedHashMap<String, Object>(widgetDefaults(widget));
+        attributes.putAll(constrainedProperty.getAttributes());
         attributes.put("id", constrainedProperty.getPropertyName());
         return attributes;
     }
@@ -118,14 +124,22 @@ public class ScaffoldingContext implements Disposable {
         return ScaffoldingUtils.resolveMessage(controller, actionName, validateable, key, defaultValue);
     }
 
-    public Class resolveLabeler(String property) {
-        Class labelerTemplate = labelerTemplates.get(property);
+    public Class resolveLabeler(final String property) {
+        return memoize(labelerTemplates, property, new Callable<Class>() {
+            public Class call() {
+                return doResolveLabeler(property);
+            }
+        });
+    }
+
+    private Class doResolveLabeler(String property) {
+        ConstrainedProperty constrainedProperty = validateable.constrainedProperties().get(property);
+        Class labelerTemplate = TemplateResolutionCache.get(LABELER, controller, actionName, validateable, property, constrainedProperty.getWidget());
 
         if (labelerTemplate == null) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Resolving labeler template for " + qualify(property));
             }
-            ConstrainedProperty constrainedProperty = validateable.constrainedProperties().get(property);
             if (!isBlank(constrainedProperty.getWidget())) {
                 labelerTemplate = resolveLabelerTemplateByWidget(constrainedProperty);
             }
@@ -146,35 +160,43 @@ public class ScaffoldingContext implements Disposable {
             } else if (LOG.isDebugEnabled()) {
                 LOG.debug("Resolved labeler template for " + qualify(property) + " is " + labelerTemplate.getName());
             }
-            labelerTemplates.put(property, labelerTemplate);
+            TemplateResolutionCache.put(LABELER, controller, actionName, validateable, property, constrainedProperty.getWidget(), labelerTemplate);
         }
 
         return labelerTemplate;
     }
 
     private Class resolveLabelerTemplateByWidget(ConstrainedProperty constrainedProperty) {
-        String[] templates = ScaffoldingUtils.widgetLabelerTemplates(controller, actionName, validateable, constrainedProperty.getWidget());
+        String[] templates = namingPlan().widgetLabelerTemplates(constrainedProperty.getWidget());
         return resolveTemplate(templates);
     }
 
     private Class resolveLabelerTemplateByProperty(String property) {
-        String[] templates = ScaffoldingUtils.propertyLabelerTemplates(controller, actionName, validateable, property);
+        String[] templates = namingPlan().propertyLabelerTemplates(property);
         return resolveTemplate(templates);
     }
 
     private Class resolveLabelerTemplateByDefault() {
-        String[] templates = ScaffoldingUtils.defaultLabelerTemplates();
+        String[] templates = DEFAULT_LABELER_TEMPLATES;
         return resolveTemplate(templates);
     }
 
-    public Class resolveWidget(String property) {
-        Class widgetTemplate = widgetTemplates.get(property);
+    public Class resolveWidget(final String property) {
+        return memoize(widgetTemplates, property, new Callable<Class>() {
+            public Class call() {
+                return doResolveWidget(property);
+            }
+        });
+    }
+
+    private Class doResolveWidget(String property) {
+        ConstrainedProperty constrainedProperty = validateable.constrainedProperties().get(property);
+        Class widgetTemplate = TemplateResolutionCache.get(WIDGET, controller, actionName, validateable, property, constrainedProperty.getWidget());
 
         if (widgetTemplate == null) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Resolving widget template for " + qualify(property));
             }
-            ConstrainedProperty constrainedProperty = validateable.constrainedProperties().get(property);
             if (!isBlank(constrainedProperty.getWidget())) {
                 widgetTemplate = resolveWidgetTemplateByWidget(constrainedProperty);
             }
@@ -195,46 +217,86 @@ public class ScaffoldingContext implements Disposable {
             } else if (LOG.isDebugEnabled()) {
                 LOG.debug("Resolved widget template for " + qualify(property) + " is " + widgetTemplate.getName());
             }
-            widgetTemplates.put(property, widgetTemplate);
+            TemplateResolutionCache.put(WIDGET, controller, actionName, validateable, property, constrainedProperty.getWidget(), widgetTemplate);
         }
 
         return widgetTemplate;
     }
 
     private Class resolveWidgetTemplateByWidget(ConstrainedProperty constrainedProperty) {
-        String[] templates = ScaffoldingUtils.widgetTemplates(controller, actionName, validateable, constrainedProperty.getWidget());
+        String[] templates = namingPlan().widgetTemplates(constrainedProperty.getWidget());
         return resolveTemplate(templates);
     }
 
     private Class resolveWidgetTemplateByProperty(String property) {
-        String[] templates = ScaffoldingUtils.propertyTemplates(controller, actionName, validateable, property);
+        String[] templates = namingPlan().propertyTemplates(property);
         return resolveTemplate(templates);
     }
 
     private Class resolveWidgetTemplateByUnknown() {
-        String[] templates = ScaffoldingUtils.unknownWidgetTemplates();
+        String[] templates = UNKNOWN_WIDGET_TEMPLATES;
         return resolveTemplate(templates);
     }
 
+    private static Class memoize(ConcurrentMap<String, FutureTask<Class>> cache, String key, Callable<Class> resolver) {
+        FutureTask<Class> task = cache.get(key);
+        if (task == null) {
+            FutureTask<Class> newTask = new FutureTask<Class>(resolver);
+            task = cache.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                task.run();
+            }
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            // do not remember failures, next call should try again
+            cache.remove(key, task);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
     private Class resolveTemplate(String[] templates) {
+        ScaffoldingTracer tracer = ScaffoldingTracing.TRACER;
+        Object trace = tracer.beginTemplateResolution();
         Class labelerTemplate = null;
+        String winningKey = null;
 
         // attempt i18n resolution first
         if (LOG.isDebugEnabled()) {
             LOG.debug("  [I18N]");
         }
+        GriffonApplication app = getController().getApp();
+        Locale locale = app.getLocale();
         for (String resourceKey : templates) {
+            if (TemplateResolutionCache.isMissingMessage(resourceKey, locale)) continue;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("  Resolving " + resourceKey);
+            }
+            String widgetTemplateClassName = null;
             try {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("  Resolving " + resourceKey);
-                }
-                String widgetTemplateClassName = getController().getApp().getMessage(resourceKey);
-                labelerTemplate = ApplicationClassLoader.get().loadClass(widgetTemplateClassName);
-                break;
+                widgetTemplateClassName = app.getMessage(resourceKey, locale);
+            } catch (NoSuchMessageException e) {
+                TemplateResolutionCache.markMissingMessage(resourceKey, locale);
+                continue;
             } catch (Exception e) {
-                // continue
+                continue;
+            }
+            labelerTemplate = loadTemplateClass(widgetTemplateClassName);
+            if (labelerTemplate != null) {
+                winningKey = resourceKey;
+                break;
             }
         }
+        boolean i18n = labelerTemplate != null;
 
         // attempt direct class load
         if (labelerTemplate == null) {
@@ -242,21 +304,39 @@ public class ScaffoldingContext implements Disposable {
                 LOG.debug("  [CLASS]");
             }
             for (String widgetName : templates) {
-                try {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("  Resolving " + widgetName);
-                    }
-                    labelerTemplate = ApplicationClassLoader.get().loadClass(widgetName);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("  Resolving " + widgetName);
+                }
+                // the index only knows about convention names, never about i18n mappings
+                if (TemplateIndex.isKnownMissing(widgetName)) continue;
+                labelerTemplate = loadTemplateClass(widgetName);
+                if (labelerTemplate != null) {
+                    winningKey = widgetName;
                     break;
-                } catch (Exception e) {
-                    // continue
                 }
             }
         }
 
+        if (trace != null) {
+            tracer.endTemplateResolution(trace, templates.length, winningKey, labelerTemplate != null ? labelerTemplate.getName() : null, i18n);
+        }
         return labelerTemplate;
     }
 
+    private Class loadTemplateClass(String className) {
+        if (isBlank(className) || TemplateResolutionCache.isMissingClass(className)) {
+            return null;
+        }
+        try {
+            return ApplicationClassLoader.get().loadClass(className);
+        } catch (ClassNotFoundException e) {
+            TemplateResolutionCache.markMissingClass(className);
+        } catch (LinkageError e) {
+            TemplateResolutionCache.markMissingClass(className);
+        }
+        return null;
+    }
+
     public String[] resolveErrorMessages() {
         List<String> errorList = new ArrayList<String>();
         for (ObjectError error : validateable.getErrors().getAllErrors()) {
@@ -288,31 +368,41 @@ public class ScaffoldingContext implements Disposable {
     }
 
     private void resolveErrorMessages(ObjectError error, List<String> errors) {
-        String errorKey = errorKey(error);
-        String errorCode = errorCodes.get(errorKey);
-        if (!isBlank(errorCode)) {
-            errors.add(controller.getApp().formatMessage(errorCode, error.getArguments()));
-            return;
+        ScaffoldingTracer tracer = ScaffoldingTracing.TRACER;
+        Object trace = tracer.beginErrorMessageResolution();
+        GriffonApplication app = controller.getApp();
+        Locale locale = app.getLocale();
+        String errorCode = ErrorCodeCache.get(error.getCodes(), locale);
+        boolean cached = errorCode != null;
+
+        if (errorCode == null) {
+            errorCode = ErrorCodeCache.NO_CODE;
+            for (String code : error.getCodes()) {
+                try {
+                    errors.add(app.getMessage(code, error.getArguments(), locale));
+                    errorCode = code;
+                    break;
+                } catch (NoSuchMessageException e) {
+                    // continue;
+                }
+            }
+            ErrorCodeCache.put(error.getCodes(), locale, errorCode);
+        } else if (!isBlank(errorCode)) {
+            errors.add(app.getMessage(errorCode, error.getArguments(), locale));
         }
 
-        boolean messageResolved = false;
-        for (String code : error.getCodes()) {
-            try {
-                String message = controller.getApp().getMessage(code, error.getArguments());
-                errors.add(message);
-                errorCodes.put(errorKey, code);
-                messageResolved = true;
-                break;
-            } catch (NoSuchMessageException e) {
-                // continue;
-            }
+        if (isBlank(errorCode)) {
+            errors.add(app.formatMessage(error.getDefaultMessage(), error.getArguments()));
         }
-        if (!messageResolved) {
-            errors.add(controller.getApp().formatMessage(error.getDefaultMessage(), error.getArguments()));
-            errorCodes.put(errorKey, error.getDefaultMessage());
+
+        if (trace != null) {
+            tracer.endErrorMessageResolution(trace, error.getCodes().length, isBlank(errorCode) ? null : errorCode, cached);
         }
     }
 
+    private NamingPlan namingPlan() {
+        return ScaffoldingUtils.namingPlan(controller, actionName, validateable);
+    }
 
     private String qualify() {
         return qualifyActionValidatable(controller, actionName, validateable);
@@ -322,16 +412,10 @@ public class ScaffoldingContext implements Disposable {
         return dot(qualifyActionValidatable(controller, actionName, validateable), extra);
     }
 
-    private String errorKey(ObjectError error) {
-        StringBuilder b = new StringBuilder(error.getClass().getName())
-            .append(Arrays.toString(error.getCodes()))
-            .append(error.getDefaultMessage());
-        if (error instanceof FieldObjectError) {
-            b.append(((FieldObjectError) error).getFieldName());
-        }
-        return hash(b.toString());
-    }
-
+    /**
+     * @deprecated error codes are no longer cached by digest; kept for subclasses compiled against earlier versions.
+     */
+    @Deprecated
     protected String hash(String str) throws IllegalArgumentException {
         if (str == null || str.length() == 0) {
             throw new IllegalArgumentException("String to encode cannot be null or have zero length");
@@ -340,6 +424,10 @@ public class ScaffoldingContext implements Disposable {
         return hash(str.getBytes());
     }
 
+    /**
+     * @deprecated error codes are no longer cached by digest; kept for subclasses compiled against earlier versions.
+     */
+    @Deprecated
     protected String hash(byte[] bytes) {
         if (bytes == null || bytes.length == 0) {
             throw new IllegalArgumentException("Byte array to encode cannot be null or have zero length");
@@ -359,6 +447,10 @@ public class ScaffoldingContext implements Disposable {
         return hexString.toString();
     }
 
+    /**
+     * @deprecated error codes are no longer cached by digest; kept for subclasses compiled against earlier versions.
+     */
+    @Deprecated
     protected MessageDigest createDigester() {
         try {
             return MessageDigest.getInstance("MD5");
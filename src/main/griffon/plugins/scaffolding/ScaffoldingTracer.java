@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+/**
+ * Receives timing information about scaffolding operations.<p>
+ * Every operation is reported with a pair of calls: {@code begin*()} right before
+ * the operation starts and the matching {@code end*()} once it completes. The value
+ * returned by {@code begin*()} is handed back to {@code end*()}; a return value of
+ * {@code null} means the operation is not traced, in which case callers skip the
+ * {@code end*()} call altogether. Implementations are looked up with
+ * {@code java.util.ServiceLoader}, see {@code ScaffoldingTracing}.
+ *
+ * @author Andres Almiray
+ */
+public interface ScaffoldingTracer {
+    Object beginTemplateResolution();
+
+    /**
+     * @param candidates number of candidate names
+     * @param winningKey the candidate that resolved, {@code null} if none did
+     * @param template   name of the resolved template class, {@code null} if none
+     * @param i18n       whether the template was resolved through a message key or by class name
+     */
+    void endTemplateResolution(Object trace, int candidates, String winningKey, String template, boolean i18n);
+
+    Object beginMemberResolution();
+
+    /**
+     * @param member {@code null} if the member could not be resolved
+     */
+    void endMemberResolution(Object trace, String fqCommandName, String suffix, int candidates, String member);
+
+    Object beginBindingUpdate();
+
+    /**
+     * @param toTarget  {@code true} for source to target updates
+     * @param converter whether a converter was used instead of a property editor
+     */
+    void endBindingUpdate(Object trace, String propertyName, boolean toTarget, boolean converter);
+
+    Object beginErrorMessageResolution();
+
+    /**
+     * @param code   the code whose message was used, {@code null} if the default message was used
+     * @param cached whether the code came from the {@code ErrorCodeCache}
+     */
+    void endErrorMessageResolution(Object trace, int candidates, String code, boolean cached);
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+import static griffon.util.GriffonExceptionHandler.sanitize;
+
+/**
+ * Holds the {@code ScaffoldingTracer} in use.<p>
+ * The first implementation listed in {@code META-INF/services/griffon.plugins.scaffolding.ScaffoldingTracer}
+ * that can be loaded wins; tracing is disabled if there is none, or if the system
+ * property {@value #KEY_TRACER} is set to {@code none}. The tracer is chosen once,
+ * so that disabled tracing costs no more than a call to a method returning {@code null}.<p>
+ * A Java Flight Recorder based tracer, which requires JDK 11 or later, is built as a
+ * separate artifact from {@code src/jfr}; it is enabled by adding its jar to the
+ * application's classpath.
+ *
+ * @author Andres Almiray
+ */
+public final class ScaffoldingTracing {
+    private static final Logger LOG = LoggerFactory.getLogger(ScaffoldingTracing.class);
+    public static final String KEY_TRACER = "griffon.scaffolding.tracer";
+
+    public static final ScaffoldingTracer TRACER = loadTracer();
+
+    private ScaffoldingTracing() {
+    }
+
+    private static ScaffoldingTracer loadTracer() {
+        if ("none".equals(System.getProperty(KEY_TRACER))) return new NoopScaffoldingTracer();
+
+        try {
+            Iterator<ScaffoldingTracer> tracers = ServiceLoader.load(ScaffoldingTracer.class, ScaffoldingTracer.class.getClassLoader()).iterator();
+            while (tracers.hasNext()) {
+                try {
+                    ScaffoldingTracer tracer = tracers.next();
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Using " + tracer.getClass().getName() + " as ScaffoldingTracer");
+                    }
+                    return tracer;
+                } catch (Throwable t) {
+                    // e.g. an implementation compiled for a newer JVM
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Could not load ScaffoldingTracer", sanitize(t));
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Could not load ScaffoldingTracer", sanitize(t));
+            }
+        }
+        return new NoopScaffoldingTracer();
+    }
+
+    private static final class NoopScaffoldingTracer implements ScaffoldingTracer {
+        public Object beginTemplateResolution() {
+            return null;
+        }
+
+        public void endTemplateResolution(Object trace, int candidates, String winningKey, String template, boolean i18n) {
+        }
+
+        public Object beginMemberResolution() {
+            return null;
+        }
+
+        public void endMemberResolution(Object trace, String fqCommandName, String suffix, int candidates, String member) {
+        }
+
+        public Object beginBindingUpdate() {
+            return null;
+        }
+
+        public void endBindingUpdate(Object trace, String propertyName, boolean toTarget, boolean converter) {
+        }
+
+        public Object beginErrorMessageResolution() {
+            return null;
+        }
+
+        public void endErrorMessageResolution(Object trace, int candidates, String code, boolean cached) {
+        }
+    }
+}
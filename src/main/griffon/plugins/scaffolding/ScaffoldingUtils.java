@@ -17,24 +17,20 @@
 package griffon.plugins.scaffolding;
 
 import griffon.core.GriffonController;
-import griffon.core.GriffonControllerClass;
 import griffon.core.controller.GriffonControllerActionManager;
 import griffon.core.i18n.NoSuchMessageException;
-import griffon.plugins.scaffolding.atoms.*;
-import griffon.plugins.scaffolding.atoms.StringValue;
 import griffon.plugins.validation.Validateable;
-import griffon.plugins.validation.constraints.ConstrainedProperty;
 import griffon.util.*;
 import groovy.util.ConfigObject;
-import org.joda.time.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static griffon.util.ApplicationHolder.getApplication;
 import static griffon.util.ConfigUtils.getConfigValue;
@@ -50,64 +46,67 @@ public final class ScaffoldingUtils {
     private static final Logger LOG = LoggerFactory.getLogger(ScaffoldingUtils.class);
     private static final String KEY_SCAFFOLDING_UIDEFAULTS = "scaffolding.uidefaults";
     private static final String GLOBAL_UIDEFAULTS_CONFIG_FILE = "UiDefaults";
-    private static ConfigObject uiDefaults;
+    public static final String EVENT_UIDEFAULTS_RELOADED = "ScaffoldingUiDefaultsReloaded";
+    private static final AtomicReference<UiDefaultsSnapshot> UI_DEFAULTS = new AtomicReference<UiDefaultsSnapshot>();
     private static final Object LOCK = new Object[0];
 
     public static final String COMMAND_OBJECT_SUFFIX = "CommandObject";
     public static final String VALIDATABLE_SUFFIX = "Validatable";
-    private static final String DEFAULT_APPLICATION_TEMPLATE_PATH = "templates.scaffolding";
-    private static final String DEFAULT_TEMPLATE_PATH = "griffon.plugins.scaffolding.templates";
-    private static final String KEY_DEFAULT = "default";
-    private static final String KEY_UNKNOWN = "Unknown";
-    private static final String KEY_TEMPLATE = "Template";
-    private static final String KEY_LABELER_TEMPLATE = "LabelerTemplate";
-    private static final String KEY_ENUM = "Enum";
-
-    private static Map<Class, Class> SUPPORTED_ATOM_TYPES = CollectionUtils.<Class, Class>map()
-        .e(BigDecimal.class, BigDecimalValue.class)
-        .e(BigInteger.class, BigIntegerValue.class)
-        .e(Boolean.class, BooleanValue.class)
-        .e(Byte.class, ByteValue.class)
-        .e(Calendar.class, CalendarValue.class)
-        .e(Date.class, DateValue.class)
-        .e(Double.class, DoubleValue.class)
-        .e(Float.class, FloatValue.class)
-        .e(Integer.class, IntegerValue.class)
-        .e(Long.class, LongValue.class)
-        .e(Short.class, ShortValue.class)
-        .e(String.class, StringValue.class)
-        .e(Boolean.TYPE, BooleanValue.class)
-        .e(Byte.TYPE, ByteValue.class)
-        .e(Double.TYPE, DoubleValue.class)
-        .e(Float.TYPE, FloatValue.class)
-        .e(Integer.TYPE, IntegerValue.class)
-        .e(Long.TYPE, LongValue.class)
-        .e(Short.TYPE, ShortValue.class)
-        .e(DateTime.class, DateTimeValue.class)
-        .e(DateTimeZone.class, DateTimeZoneValue.class)
-        .e(LocalDate.class, LocalDateValue.class)
-        .e(LocalDateTime.class, LocalDateTimeValue.class)
-        .e(LocalTime.class, LocalTimeValue.class)
-        .e(Instant.class, InstantValue.class)
-        .e(Years.class, YearsValue.class)
-        .e(Months.class, MonthsValue.class)
-        .e(Weeks.class, WeeksValue.class)
-        .e(Days.class, DaysValue.class)
-        .e(Hours.class, HoursValue.class)
-        .e(Minutes.class, MinutesValue.class)
-        .e(Seconds.class, SecondsValue.class)
-        .e(Duration.class, DurationValue.class);
+    static final String DEFAULT_APPLICATION_TEMPLATE_PATH = "templates.scaffolding";
+    static final String DEFAULT_TEMPLATE_PATH = "griffon.plugins.scaffolding.templates";
+    static final String KEY_DEFAULT = "default";
+    static final String KEY_UNKNOWN = "Unknown";
+    static final String KEY_TEMPLATE = "Template";
+    static final String KEY_LABELER_TEMPLATE = "LabelerTemplate";
+    static final String KEY_ENUM = "Enum";
+
+    static final String[] DEFAULT_LABELER_TEMPLATES = {
+        // templates.scaffolding.LabelerTemplate
+        dot(DEFAULT_APPLICATION_TEMPLATE_PATH, KEY_LABELER_TEMPLATE),
+        // griffon.plugins.scaffolding.LabelerTemplate
+        dot(DEFAULT_TEMPLATE_PATH, KEY_LABELER_TEMPLATE)
+    };
 
+    static final String[] UNKNOWN_WIDGET_TEMPLATES = {
+        // templates.scaffolding.UnknownTemplate
+        dot(DEFAULT_APPLICATION_TEMPLATE_PATH, KEY_UNKNOWN + KEY_TEMPLATE),
+        // griffon.plugins.scaffolding.UnknownTemplate
+        dot(DEFAULT_TEMPLATE_PATH, KEY_UNKNOWN + KEY_TEMPLATE)
+    };
+
+    private static final ConcurrentMap<NamingPlanKey, NamingPlan> NAMING_PLANS = new ConcurrentHashMap<NamingPlanKey, NamingPlan>();
+
+    /**
+     * Returns the {@code AtomicValue} class that handles values of the given type,
+     * taking superclasses, interfaces and enum types into account. Use
+     * {@code AbstractAtomicValue.wrapValue()} to create instances for a value type,
+     * as some atomic values (e.g. {@code EnumValue}) need the value type to be created.
+     *
+     * @return the matching atomic value class or {@code null} if there is none
+     */
+    public static Class resolveAtomicValueType(Class type) {
+        AtomicValueFactory factory = AtomicValueRegistry.resolveFactory(type);
+        return factory != null ? factory.getAtomicValueType() : null;
+    }
+
+    /**
+     * Reads {@code META-INF/services/griffon.plugins.scaffolding.AtomicValue} entries of the
+     * form {@code type=class}, where class is either an {@code AtomicValue} or an
+     * {@code AtomicValueFactory}. Entries are registered with the {@code AtomicValueRegistry};
+     * listing a factory avoids creating atomic values reflectively.
+     *
+     * @return an unmodifiable live view of the atomic value class registered for each value type
+     */
     public static Map<Class, Class> initializeAtomTypes() {
         Enumeration<URL> urls = null;
 
         try {
             urls = ApplicationClassLoader.get().getResources("META-INF/services/" + AtomicValue.class.getName());
         } catch (IOException ioe) {
-            return SUPPORTED_ATOM_TYPES;
+            return AtomicValueRegistry.getAtomicValueTypes();
         }
 
-        if (urls == null) return SUPPORTED_ATOM_TYPES;
+        if (urls == null) return AtomicValueRegistry.getAtomicValueTypes();
 
         while (urls.hasMoreElements()) {
             URL url = urls.nextElement();
@@ -125,10 +124,18 @@ public final class ScaffoldingUtils {
                             String[] parts = line.trim().split("=");
                             Class targetType = loadClass(parts[0].trim());
                             Class atomicValueClass = loadClass(parts[1].trim());
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Registering " + atomicValueClass.getName() + " as AtomicValue for " + targetType.getName());
+                            if (AtomicValueFactory.class.isAssignableFrom(atomicValueClass)) {
+                                AtomicValueFactory factory = (AtomicValueFactory) atomicValueClass.newInstance();
+                                if (LOG.isDebugEnabled()) {
+                                    LOG.debug("Registering " + atomicValueClass.getName() + " as AtomicValueFactory for " + targetType.getName());
+                                }
+                                AtomicValueRegistry.registerFactory(targetType, factory);
+                            } else {
+                                if (LOG.isDebugEnabled()) {
+                                    LOG.debug("Registering " + atomicValueClass.getName() + " as AtomicValue for " + targetType.getName());
+                                }
+                                AtomicValueRegistry.registerAtomicValue(targetType, atomicValueClass);
                             }
-                            SUPPORTED_ATOM_TYPES.put(targetType, atomicValueClass);
                         } catch (Exception e) {
                             if (LOG.isWarnEnabled()) {
                                 LOG.warn("Could not load AtomicValue with " + line, sanitize(e));
@@ -143,10 +150,10 @@ public final class ScaffoldingUtils {
             }
         }
 
-        return SUPPORTED_ATOM_TYPES;
+        return AtomicValueRegistry.getAtomicValueTypes();
     }
 
-    private static Class<?> loadClass(String className) throws ClassNotFoundException {
+    static Class<?> loadClass(String className) throws ClassNotFoundException {
         ClassNotFoundException cnfe = null;
 
         ClassLoader cl = ScaffoldingUtils.class.getClassLoader();
@@ -170,225 +177,57 @@ public final class ScaffoldingUtils {
     private ScaffoldingUtils() {
     }
 
-    public static String[] mvcMemberCodes(GriffonController controller, String actionName, Validateable validateable, String suffix) {
-        // Given the following values
-        //   controller    = com.acme.MailController
-        //   actionName    = sendMail
-        //   commandObject = com.acme.commands.MailCommandObject
-
-        // mail
-        String controllerName = getLogicalPropertyName(controller.getClass().getName(), GriffonControllerClass.TRAILING);
-        // sendmail
-        String normalizedActionName = normalizeActionName(controller, actionName);
-        // com.acme
-        String controllerPackageName = controller.getClass().getPackage().getName();
-        // MailCommandObject
-        String validateableName = capitalize(getLogicalPropertyName(validateable.getClass().getName(), COMMAND_OBJECT_SUFFIX));
-        if (validateable instanceof CommandObject) {
-            validateableName += COMMAND_OBJECT_SUFFIX;
+    /**
+     * Returns the memoized naming plan for the given combination of controller class,
+     * action name and validateable class.
+     */
+    static NamingPlan namingPlan(GriffonController controller, String actionName, Validateable validateable) {
+        NamingPlanKey key = new NamingPlanKey(controller.getClass(), actionName, validateable.getClass());
+        NamingPlan plan = NAMING_PLANS.get(key);
+        if (plan == null) {
+            plan = new NamingPlan(controller, actionName, validateable);
+            NamingPlan previous = NAMING_PLANS.putIfAbsent(key, plan);
+            if (previous != null) plan = previous;
         }
-        // com.acme.commands
-        String validateablePackageName = validateable.getClass().getPackage().getName();
-
-        List<String> codes = new ArrayList<String>();
-        // com.acme.mail.sendmail.MailCommandObject<suffix> | com.acme.mail.sendmail.Mail<suffix>
-        codes.add(dot(controllerPackageName, controllerName, normalizedActionName, validateableName) + suffix);
-        // com.acme.mail.MailCommandObject<suffix> | com.acme.mail.Mail<suffix>
-        codes.add(dot(controllerPackageName, controllerName, validateableName) + suffix);
-        // com.acme.MailCommandObject<suffix> | com.acme.Mail<suffix>
-        codes.add(dot(controllerPackageName, validateableName) + suffix);
-        // com.acme != com.acme.commands ?
-        if (!controllerPackageName.equals(validateablePackageName)) {
-            // com.acme.commands.MailCommandObject<suffix> | com.acme.commands.Mail<suffix>
-            codes.add(dot(validateablePackageName, validateableName) + suffix);
-        }
-        // templates.scaffolding.CommandObject<suffix> | templates.scaffolding.Validateable<suffix>
-        codes.add(dot(DEFAULT_APPLICATION_TEMPLATE_PATH, validateable instanceof CommandObject ? COMMAND_OBJECT_SUFFIX : VALIDATABLE_SUFFIX) + suffix);
-        // griffon.plugins.scaffolding.templates.CommandObject<suffix>
-        codes.add(dot(DEFAULT_TEMPLATE_PATH, COMMAND_OBJECT_SUFFIX) + suffix);
+        return plan;
+    }
 
-        return codes.toArray(new String[codes.size()]);
+    public static void invalidateNamingPlans() {
+        NAMING_PLANS.clear();
     }
 
-    public static String[] messageCodes(GriffonController controller, String actionName, Validateable validateable, String property) {
-        // Given the following values
-        //   controller    = com.acme.MailController
-        //   actionName    = sendMail
-        //   commandObject = com.acme.commands.MailCommandObject
-
-        String controllerName = controller.getClass().getName();
-        // com.acme
-        String controllerPackageName = controller.getClass().getPackage().getName();
-        // MailCommandObject
-        String validateableName = capitalize(getLogicalPropertyName(validateable.getClass().getName(), COMMAND_OBJECT_SUFFIX));
-        if (validateable instanceof CommandObject) {
-            validateableName += COMMAND_OBJECT_SUFFIX;
-        }
-        // com.acme.commands
-        String validateablePackageName = validateable.getClass().getPackage().getName();
-
-        List<String> codes = new ArrayList<String>();
-        // com.acme.MailController.sendMail.MailCommandObject.<property> | com.acme.MailController.sendMail.Mail.<property>
-        codes.add(dot(controllerName, actionName, validateableName, property));
-        // com.acme.MailController.MailCommandObject.<property> | com.acme.MailController.Mail.<property>
-        codes.add(dot(controllerName, validateableName, property));
-        // com.acme.MailCommandObject.<property> | com.acme.Mail.<property>
-        codes.add(dot(controllerPackageName, validateableName, property));
-        // com.acme != com.acme.commands ?
-        if (!controllerPackageName.equals(validateablePackageName)) {
-            // com.acme.commands.MailCommandObject.<property> | com.acme.commands.Mail.<property>
-            codes.add(dot(validateablePackageName, validateableName, property));
-        }
-        // default.<property>
-        codes.add(dot(KEY_DEFAULT, property));
+    // The following methods return copies, the arrays held by naming plans are shared.
 
-        return codes.toArray(new String[codes.size()]);
+    public static String[] mvcMemberCodes(GriffonController controller, String actionName, Validateable validateable, String suffix) {
+        return namingPlan(controller, actionName, validateable).mvcMemberCodes(suffix).clone();
     }
 
-    public static String[] propertyTemplates(GriffonController controller, String actionName, Validateable validateable, String property) {
-        ConstrainedProperty constrainedProperty = validateable.constrainedProperties().get(property);
-
-        // Given the following values
-        //   controller    = com.acme.MailController
-        //   actionName    = sendMail
-        //   commandObject = com.acme.commands.MailCommandObject
-
-        // mail
-        String controllerName = getLogicalPropertyName(controller.getClass().getName(), GriffonControllerClass.TRAILING);
-        // sendmail
-        String normalizedActionName = normalizeActionName(controller, actionName);
-        // com.acme
-        String controllerPackageName = controller.getClass().getPackage().getName();
-        // mail
-        String validateableName = getLogicalPropertyName(validateable.getClass().getName(), COMMAND_OBJECT_SUFFIX);
-        // com.acme.commands
-        String validateablePackageName = validateable.getClass().getPackage().getName();
-
-        property = capitalize(property);
-        String simpleType = constrainedProperty.getPropertyType().getSimpleName();
-        boolean isEnumType = constrainedProperty.getPropertyType().isEnum();
-        if ("int".equals(simpleType)) simpleType = "integer";
-        String propertyType = capitalize(getLogicalPropertyName(simpleType, "Value"));
-
-        List<String> templates = new ArrayList<String>();
-        // com.acme.mail.sendmail.mail.<property>Template
-        templates.add(dot(controllerPackageName, controllerName, normalizedActionName, validateableName, property) + KEY_TEMPLATE);
-        // com.acme.mail.sendmail.mail.<propertyType>Template
-        templates.add(dot(controllerPackageName, controllerName, normalizedActionName, validateableName, propertyType) + KEY_TEMPLATE);
-        if (isEnumType) {
-            // com.acme.mail.sendmail.mail.EnumTemplate
-            templates.add(dot(controllerPackageName, controllerName, normalizedActionName, validateableName, KEY_ENUM) + KEY_TEMPLATE);
-        }
-        // com.acme.mail.mail.<property>Template
-        templates.add(dot(controllerPackageName, controllerName, validateableName, property) + KEY_TEMPLATE);
-        // com.acme.mail.mail.<propertyType>Template
-        templates.add(dot(controllerPackageName, controllerName, validateableName, propertyType) + KEY_TEMPLATE);
-        if (isEnumType) {
-            // com.acme.mail.mail.EnumTemplate
-            templates.add(dot(controllerPackageName, controllerName, validateableName, KEY_ENUM) + KEY_TEMPLATE);
-        }
-        // com.acme.commands.mail.<property>Template
-        templates.add(dot(validateablePackageName, validateableName, property) + KEY_TEMPLATE);
-        // com.acme.commands.mail.<propertyType>Template
-        templates.add(dot(validateablePackageName, validateableName, propertyType) + KEY_TEMPLATE);
-        if (isEnumType) {
-            // com.acme.commands.mail.EnumTemplate
-            templates.add(dot(validateablePackageName, validateableName, KEY_ENUM) + KEY_TEMPLATE);
-        }
-        // templates.scaffolding.<property>Template
-        templates.add(dot(DEFAULT_APPLICATION_TEMPLATE_PATH, property + KEY_TEMPLATE));
-        // templates.scaffolding.<propertyType>Template
-        templates.add(dot(DEFAULT_APPLICATION_TEMPLATE_PATH, propertyType + KEY_TEMPLATE));
-        if (isEnumType) {
-            // templates.scaffolding.EnumTemplate
-            templates.add(dot(DEFAULT_APPLICATION_TEMPLATE_PATH, KEY_ENUM + KEY_TEMPLATE));
-        }
-        // griffon.plugins.scaffolding.templates.<propertyType>Template
-        templates.add(dot(DEFAULT_TEMPLATE_PATH, propertyType + KEY_TEMPLATE));
-        if (isEnumType) {
-            // griffon.plugins.scaffolding.templates.EnumTemplate
-            templates.add(dot(DEFAULT_TEMPLATE_PATH, KEY_ENUM + KEY_TEMPLATE));
-        }
+    public static String[] messageCodes(GriffonController controller, String actionName, Validateable validateable, String property) {
+        return namingPlan(controller, actionName, validateable).messageCodes(property).clone();
+    }
 
-        return templates.toArray(new String[templates.size()]);
+    public static String[] propertyTemplates(GriffonController controller, String actionName, Validateable validateable, String property) {
+        return namingPlan(controller, actionName, validateable).propertyTemplates(property).clone();
     }
 
     public static String[] propertyLabelerTemplates(GriffonController controller, String actionName, Validateable validateable, String property) {
-        String[] propertyTemplates = propertyTemplates(controller, actionName, validateable, property);
-        String[] propertyLabelerTemplates = new String[propertyTemplates.length];
-
-        for (int i = 0; i < propertyTemplates.length; i++) {
-            propertyLabelerTemplates[i] = propertyTemplates[i].substring(0, propertyTemplates[i].length() - KEY_TEMPLATE.length()) + KEY_LABELER_TEMPLATE;
-        }
-
-        return propertyLabelerTemplates;
+        return namingPlan(controller, actionName, validateable).propertyLabelerTemplates(property).clone();
     }
 
     public static String[] widgetLabelerTemplates(GriffonController controller, String actionName, Validateable validateable, String widget) {
-        String[] templates = widgetTemplates(controller, actionName, validateable, widget);
-        String[] labelerTemplates = new String[templates.length];
-
-        for (int i = 0; i < templates.length; i++) {
-            labelerTemplates[i] = templates[i].substring(0, templates[i].length() - KEY_TEMPLATE.length()) + KEY_LABELER_TEMPLATE;
-        }
-
-        return labelerTemplates;
+        return namingPlan(controller, actionName, validateable).widgetLabelerTemplates(widget).clone();
     }
 
     public static String[] defaultLabelerTemplates() {
-        List<String> templates = new ArrayList<String>();
-
-        // templates.scaffolding.LabelerTemplate
-        templates.add(dot(DEFAULT_APPLICATION_TEMPLATE_PATH, KEY_LABELER_TEMPLATE));
-        // griffon.plugins.scaffolding.LabelerTemplate
-        templates.add(dot(DEFAULT_TEMPLATE_PATH, KEY_LABELER_TEMPLATE));
-
-        return templates.toArray(new String[templates.size()]);
+        return DEFAULT_LABELER_TEMPLATES.clone();
     }
 
     public static String[] widgetTemplates(GriffonController controller, String actionName, Validateable validateable, String widget) {
-        // Given the following values
-        //   controller    = com.acme.MailController
-        //   actionName    = sendMail
-        //   commandObject = com.acme.commands.MailCommandObject
-
-        // mail
-        String controllerName = getLogicalPropertyName(controller.getClass().getName(), GriffonControllerClass.TRAILING);
-        // sendmail
-        String normalizedActionName = normalizeActionName(controller, actionName);
-        // com.acme
-        String controllerPackageName = controller.getClass().getPackage().getName();
-        // mail
-        String validateableName = getLogicalPropertyName(validateable.getClass().getName(), COMMAND_OBJECT_SUFFIX);
-        // com.acme.commands
-        String validateablePackageName = validateable.getClass().getPackage().getName();
-
-        widget = capitalize(widget);
-
-        List<String> templates = new ArrayList<String>();
-        // com.acme.mail.sendmail.mail.<widget>Template
-        templates.add(dot(controllerPackageName, controllerName, normalizedActionName, validateableName, widget) + KEY_TEMPLATE);
-        // com.acme.mail.mail.<widget>Template
-        templates.add(dot(controllerPackageName, controllerName, validateableName, widget) + KEY_TEMPLATE);
-        // com.acme.commands.mail.<widget>Template
-        templates.add(dot(validateablePackageName, validateableName, widget) + KEY_TEMPLATE);
-        // templates.scaffolding.<widget>Template
-        templates.add(dot(DEFAULT_APPLICATION_TEMPLATE_PATH, widget + KEY_TEMPLATE));
-        // griffon.plugins.scaffolding.<widget>Template
-        templates.add(dot(DEFAULT_TEMPLATE_PATH, widget + KEY_TEMPLATE));
-
-        return templates.toArray(new String[templates.size()]);
+        return namingPlan(controller, actionName, validateable).widgetTemplates(widget).clone();
     }
 
     public static String[] unknownWidgetTemplates() {
-        List<String> templates = new ArrayList<String>();
-
-        // templates.scaffolding.UnknownTemplate
-        templates.add(dot(DEFAULT_APPLICATION_TEMPLATE_PATH, KEY_UNKNOWN + KEY_TEMPLATE));
-        // griffon.plugins.scaffolding.UnknownTemplate
-        templates.add(dot(DEFAULT_TEMPLATE_PATH, KEY_UNKNOWN + KEY_TEMPLATE));
-
-        return templates.toArray(new String[templates.size()]);
+        return UNKNOWN_WIDGET_TEMPLATES.clone();
     }
 
     public static String getNaturalName(CommandObject commandObject) {
@@ -397,7 +236,7 @@ public final class ScaffoldingUtils {
     }
 
     public static String resolveMessage(GriffonController controller, String actionName, Validateable validateable, String property, String defaultValue) {
-        for (String code : messageCodes(controller, actionName, validateable, property)) {
+        for (String code : namingPlan(controller, actionName, validateable).messageCodes(property)) {
             try {
                 return controller.getApp().getMessage(code);
             } catch (NoSuchMessageException e) {
@@ -441,23 +280,93 @@ public final class ScaffoldingUtils {
         return b.toString();
     }
 
-    private static ConfigObject loadUiDefaults() {
-        synchronized (LOCK) {
-            ConfigObject config = new ConfigObject();
-            ConfigObject globalDefaults = loadConfig(GLOBAL_UIDEFAULTS_CONFIG_FILE);
-            config.merge(globalDefaults);
-            ConfigObject localDefaults = (ConfigObject) getConfigValue(getApplication().getConfig(), KEY_SCAFFOLDING_UIDEFAULTS, new ConfigObject());
-            config.merge(localDefaults);
-            return config;
+    private static ConfigObject loadUiDefaults(ConfigObject globalDefaults) {
+        ConfigObject config = new ConfigObject();
+        config.merge(globalDefaults);
+        ConfigObject localDefaults = (ConfigObject) getConfigValue(getApplication().getConfig(), KEY_SCAFFOLDING_UIDEFAULTS, new ConfigObject());
+        config.merge(localDefaults);
+        return config;
+    }
+
+    /**
+     * Returns the current UI defaults snapshot. Never blocks once the first snapshot
+     * has been loaded.
+     */
+    public static UiDefaultsSnapshot getUiDefaultsSnapshot() {
+        UiDefaultsSnapshot snapshot = UI_DEFAULTS.get();
+        if (snapshot == null) {
+            synchronized (LOCK) {
+                snapshot = UI_DEFAULTS.get();
+                if (snapshot == null) {
+                    snapshot = new UiDefaultsSnapshot(loadUiDefaults(loadConfig(GLOBAL_UIDEFAULTS_CONFIG_FILE)));
+                    UI_DEFAULTS.set(snapshot);
+                }
+            }
         }
+        return snapshot;
     }
 
     public static ConfigObject getUiDefaults() {
-        synchronized (LOCK) {
-            if (uiDefaults == null) {
-                uiDefaults = loadUiDefaults();
-            }
-            return uiDefaults;
+        return getUiDefaultsSnapshot().getConfig();
+    }
+
+    public static Map<String, Object> widgetDefaults(String widget) {
+        return getUiDefaultsSnapshot().widgetDefaults(widget);
+    }
+
+    /**
+     * Reloads the UI defaults from the classpath and the application's configuration.
+     */
+    public static void reloadUiDefaults() {
+        reloadUiDefaults(loadConfig(GLOBAL_UIDEFAULTS_CONFIG_FILE));
+    }
+
+    /**
+     * Publishes a new UI defaults snapshot built from the given global defaults and the
+     * application's configuration. Values derived from the previous snapshot are discarded
+     * and a {@value #EVENT_UIDEFAULTS_RELOADED} event is triggered with the new snapshot as argument.
+     */
+    public static void reloadUiDefaults(ConfigObject globalDefaults) {
+        UiDefaultsSnapshot snapshot = new UiDefaultsSnapshot(loadUiDefaults(globalDefaults));
+        UI_DEFAULTS.set(snapshot);
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Reloaded scaffolding UI defaults");
+        }
+        getApplication().eventAsync(EVENT_UIDEFAULTS_RELOADED, Arrays.<Object>asList(snapshot));
+    }
+
+    private static final class NamingPlanKey {
+        private final Class controllerClass;
+        private final String actionName;
+        private final Class validateableClass;
+        private final int hashCode;
+
+        private NamingPlanKey(Class controllerClass, String actionName, Class validateableClass) {
+            this.controllerClass = controllerClass;
+            this.actionName = actionName;
+            this.validateableClass = validateableClass;
+
+            int result = controllerClass.hashCode();
+            result = 31 * result + (actionName != null ? actionName.hashCode() : 0);
+            result = 31 * result + validateableClass.hashCode();
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NamingPlanKey)) return false;
+
+            NamingPlanKey that = (NamingPlanKey) o;
+
+            return controllerClass == that.controllerClass &&
+                validateableClass == that.validateableClass &&
+                (actionName != null ? actionName.equals(that.actionName) : that.actionName == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
         }
     }
 }
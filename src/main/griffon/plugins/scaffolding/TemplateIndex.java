@@ -0,0 +1,349 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.util.ApplicationClassLoader;
+import griffon.util.RunnableWithArgs;
+import griffon.util.RunnableWithArgsClosure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import static griffon.util.GriffonExceptionHandler.sanitize;
+import static griffon.util.GriffonNameUtils.isBlank;
+import static org.codehaus.groovy.runtime.ResourceGroovyMethods.eachLine;
+
+/**
+ * Index of template classes generated at build time.<p>
+ * The index is read once from every {@value #INDEX_RESOURCE} resource found in
+ * the classpath. Each file lists the fully qualified names of template classes
+ * (those whose names end with {@code Template}), one per line. Indexes packaged
+ * in jars are trusted as they are. An index sitting in a classes directory, as
+ * written by the build in development mode, may be older than the classes next
+ * to it, so every template class found in the directories of its packages is
+ * added to it.<p>
+ * A package is considered covered by the index as soon as one indexed template
+ * lives in it and no classpath root without an index contributes to it as well.
+ * This check only looks for indexed packages and runs once, in a background
+ * thread started by {@link #initialize()}, so that neither startup nor the first
+ * form waits for it; no package is covered until it completes. Unindexed roots
+ * are inspected entry by entry, as jars are not required to carry directory
+ * entries. The roots of the
+ * system class loader are taken from {@code java.class.path} when it does not
+ * expose them; if any other class loader does not expose its roots, or a root
+ * cannot be inspected, no package is covered at all.<p>
+ * A template name inside a covered package that is not listed is known not to
+ * exist and can be skipped without attempting to load it. Other names must
+ * still be probed.
+ *
+ * @author Andres Almiray
+ */
+public final class TemplateIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(TemplateIndex.class);
+    public static final String INDEX_RESOURCE = "META-INF/scaffolding/templates.idx";
+    private static final String TEMPLATE_SUFFIX = "Template";
+    private static final String TEMPLATE_CLASS_SUFFIX = TEMPLATE_SUFFIX + ".class";
+
+    private static final Index EMPTY = new Index(null, Collections.<String>emptySet(), Collections.<String>emptySet(), Collections.<String>emptySet());
+    private static volatile Index index = EMPTY;
+
+    private TemplateIndex() {
+    }
+
+    /**
+     * Reads the index files and computes package coverage in a background thread.
+     * Until coverage is known no template name is reported as known missing.
+     */
+    public static void initialize() {
+        final Index current = read(ApplicationClassLoader.get());
+        index = current;
+        if (current.packages.isEmpty()) return;
+
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    current.computeCoverage();
+                } catch (RuntimeException e) {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Could not compute scaffolding template index coverage", sanitize(e));
+                    }
+                }
+            }
+        }, "scaffolding-template-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reads the index files and computes package coverage in the calling thread.
+     */
+    static void initialize(ClassLoader classLoader) {
+        Index current = read(classLoader);
+        current.computeCoverage();
+        index = current;
+    }
+
+    private static Index read(ClassLoader classLoader) {
+        final Set<String> indexedTemplates = new HashSet<String>();
+        final Set<String> indexedPackages = new HashSet<String>();
+        Set<String> indexedRoots = new HashSet<String>();
+
+        Enumeration<URL> urls = null;
+        try {
+            urls = classLoader.getResources(INDEX_RESOURCE);
+        } catch (IOException ioe) {
+            return EMPTY;
+        }
+
+        if (urls == null) return EMPTY;
+
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            File directory = null;
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    directory = toFile(new URL(rootOf(url, INDEX_RESOURCE)));
+                } catch (MalformedURLException e) {
+                    // ignore
+                }
+                if (directory == null) continue;
+            } else if (!"jar".equals(url.getProtocol())) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Ignoring scaffolding template index at " + url);
+                }
+                continue;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Reading scaffolding template index from " + url);
+            }
+
+            final Set<String> packageNames = new HashSet<String>();
+            try {
+                eachLine(url, new RunnableWithArgsClosure(new RunnableWithArgs() {
+                    @Override
+                    public void run(Object[] args) {
+                        String line = (String) args[0];
+                        if (line.startsWith("#") || isBlank(line)) return;
+                        String className = line.trim();
+                        indexedTemplates.add(className);
+                        packageNames.add(packageOf(className));
+                    }
+                }));
+            } catch (IOException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Could not read scaffolding template index from " + url, sanitize(e));
+                }
+                continue;
+            }
+
+            // classes may have been compiled into the directory after the index was written
+            if (directory != null) {
+                for (String packageName : packageNames) {
+                    String[] names = new File(directory, packageName.replace('.', File.separatorChar)).list();
+                    if (names == null) continue;
+                    for (String name : names) {
+                        if (!name.endsWith(TEMPLATE_CLASS_SUFFIX) || name.indexOf('$') > -1) continue;
+                        indexedTemplates.add(packageName + "." + name.substring(0, name.length() - 6));
+                    }
+                }
+            }
+            indexedRoots.add(directory != null ? directory.toURI().toString() : rootOf(url, INDEX_RESOURCE));
+            indexedPackages.addAll(packageNames);
+        }
+
+        // a package is only covered if every root that contributes to it is indexed
+        indexedPackages.remove("");
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Indexed " + indexedTemplates.size() + " scaffolding templates in " + indexedPackages.size() + " packages");
+        }
+        return new Index(classLoader, Collections.unmodifiableSet(indexedTemplates), Collections.unmodifiableSet(indexedPackages), indexedRoots);
+    }
+
+    public static boolean isEmpty() {
+        return index.templates.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if the class is listed in the index.
+     */
+    public static boolean isIndexed(String className) {
+        return index.templates.contains(className);
+    }
+
+    /**
+     * Returns {@code true} if the index proves that the class does not exist,
+     * that is, the class lives in a package covered by the index but it is not
+     * listed in it.
+     */
+    public static boolean isKnownMissing(String className) {
+        Index current = index;
+        return className.endsWith(TEMPLATE_SUFFIX) &&
+            !current.templates.contains(className) &&
+            current.isCovered(packageOf(className));
+    }
+
+    private static Set<String> findSplitPackages(ClassLoader classLoader, Set<String> indexedRoots, Set<String> candidates) {
+        LinkedList<URL> roots = new LinkedList<URL>();
+        ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+        for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+            if (cl instanceof URLClassLoader) {
+                roots.addAll(Arrays.asList(((URLClassLoader) cl).getURLs()));
+            } else if (cl == systemClassLoader) {
+                // the application class loader of Java 9+ does not expose its roots;
+                // its parents only load platform classes
+                for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                    if (isBlank(path)) continue;
+                    try {
+                        roots.add(new File(path).toURI().toURL());
+                    } catch (MalformedURLException e) {
+                        return candidates;
+                    }
+                }
+                break;
+            } else {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Cannot list the classpath roots of " + cl + ", scaffolding template index disabled");
+                }
+                return candidates;
+            }
+        }
+
+        Set<String> split = new HashSet<String>();
+        Set<String> visited = new HashSet<String>();
+        while (!roots.isEmpty()) {
+            URL root = roots.removeFirst();
+            if (!visited.add(root.toExternalForm())) continue;
+            try {
+                if (!inspectRoot(root, indexedRoots, candidates, split, roots)) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Cannot inspect classpath root " + root + ", scaffolding template index disabled");
+                    }
+                    return candidates;
+                }
+            } catch (IOException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Cannot inspect classpath root " + root + ", scaffolding template index disabled", sanitize(e));
+                }
+                return candidates;
+            }
+        }
+        return split;
+    }
+
+    private static boolean inspectRoot(URL root, Set<String> indexedRoots, Set<String> candidates, Set<String> split, LinkedList<URL> roots) throws IOException {
+        if (!"file".equals(root.getProtocol())) return false;
+        File file = toFile(root);
+        if (file == null) return false;
+
+        if (file.isDirectory()) {
+            if (indexedRoots.contains(file.toURI().toString())) return true;
+            for (String packageName : candidates) {
+                if (new File(file, packageName.replace('.', File.separatorChar)).isDirectory()) split.add(packageName);
+            }
+            return true;
+        }
+        if (!file.isFile()) return true;
+
+        JarFile jar = new JarFile(file);
+        try {
+            // jars may reference further roots through their manifest
+            Manifest manifest = jar.getManifest();
+            String classPath = manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null;
+            if (!isBlank(classPath)) {
+                for (String entry : classPath.trim().split("\\s+")) {
+                    roots.add(new URL(root, entry));
+                }
+            }
+
+            if (indexedRoots.contains("jar:" + root.toExternalForm() + "!/")) return true;
+            for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); ) {
+                String name = entries.nextElement().getName();
+                int index = name.lastIndexOf('/');
+                if (index < 0) continue;
+                String packageName = name.substring(0, index).replace('/', '.');
+                if (candidates.contains(packageName)) split.add(packageName);
+            }
+        } finally {
+            jar.close();
+        }
+        return true;
+    }
+
+    private static File toFile(URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String rootOf(URL url, String path) {
+        String location = url.toExternalForm();
+        if (location.endsWith("/")) location = location.substring(0, location.length() - 1);
+        return location.endsWith(path) ? location.substring(0, location.length() - path.length()) : location;
+    }
+
+    private static String packageOf(String className) {
+        int index = className.lastIndexOf('.');
+        return index < 0 ? "" : className.substring(0, index);
+    }
+
+    private static final class Index {
+        private final ClassLoader classLoader;
+        private final Set<String> templates;
+        private final Set<String> packages;
+        private final Set<String> roots;
+        private volatile Set<String> covered = Collections.emptySet();
+
+        private Index(ClassLoader classLoader, Set<String> templates, Set<String> packages, Set<String> roots) {
+            this.classLoader = classLoader;
+            this.templates = templates;
+            this.packages = packages;
+            this.roots = roots;
+        }
+
+        private boolean isCovered(String packageName) {
+            return covered.contains(packageName);
+        }
+
+        private void computeCoverage() {
+            if (packages.isEmpty()) return;
+            Set<String> c = new HashSet<String>(packages);
+            c.removeAll(findSplitPackages(classLoader, roots, packages));
+            covered = Collections.unmodifiableSet(c);
+        }
+    }
+}
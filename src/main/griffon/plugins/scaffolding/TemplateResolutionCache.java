@@ -0,0 +1,220 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.core.GriffonApplication;
+import griffon.core.GriffonController;
+import griffon.plugins.validation.Validateable;
+import griffon.util.RunnableWithArgs;
+import griffon.util.RunnableWithArgsClosure;
+
+import java.util.Iterator;
+import java.util.Locale;
+
+import static griffon.util.ApplicationHolder.getApplication;
+import static griffon.util.ConfigUtils.getConfigValueAsInt;
+
+/**
+ * Application wide cache of resolved widget and labeler templates.<p>
+ * Entries are shared by all {@code ScaffoldingContext} instances and are keyed
+ * by controller class, action name, validateable class, property name, the
+ * widget name set on the property's constraints (if any) and the application's
+ * locale, as templates may be resolved through locale specific message bundles.
+ * The cache holds about {@code scaffolding.cache.templates.size} entries
+ * (defaults to {@value #DEFAULT_TEMPLATES_SIZE}), evicting the least recently
+ * used ones, and is emptied when the application shuts down, so template classes
+ * are not pinned across application reloads.<p>
+ * Failed lookups are remembered too: message keys that have no translation and
+ * class names that cannot be loaded are kept in a bounded miss cache whose size
+ * can be configured with {@code scaffolding.cache.misses.size} (defaults to
+ * {@value #DEFAULT_MISSES_SIZE} entries per kind of miss). Missing messages are
+ * forgotten whenever a different locale is seen.
+ *
+ * @author Andres Almiray
+ */
+public final class TemplateResolutionCache {
+    public static enum Kind {
+        WIDGET, LABELER
+    }
+
+    public static final int DEFAULT_TEMPLATES_SIZE = 4096;
+    public static final int DEFAULT_MISSES_SIZE = 2048;
+    private static final String KEY_TEMPLATES_SIZE = "scaffolding.cache.templates.size";
+    private static final String KEY_MISSES_SIZE = "scaffolding.cache.misses.size";
+
+    private static final Object LOCK = new Object[0];
+    private static volatile Locale currentLocale;
+
+    private TemplateResolutionCache() {
+    }
+
+    /**
+     * Discards all cached entries when the application shuts down.
+     */
+    public static void initialize(GriffonApplication app) {
+        app.addApplicationEventListener("ShutdownStart", new RunnableWithArgsClosure(new RunnableWithArgs() {
+            public void run(Object[] args) {
+                invalidate();
+            }
+        }));
+    }
+
+    public static Class get(Kind kind, GriffonController controller, String actionName, Validateable validateable, String property, String widget) {
+        return Templates.TEMPLATES.get(new Key(kind, controller.getClass(), actionName, validateable.getClass(), property, widget, controller.getApp().getLocale()));
+    }
+
+    public static void put(Kind kind, GriffonController controller, String actionName, Validateable validateable, String property, String widget, Class template) {
+        Templates.TEMPLATES.put(new Key(kind, controller.getClass(), actionName, validateable.getClass(), property, widget, controller.getApp().getLocale()), template);
+    }
+
+    public static int size() {
+        return Templates.TEMPLATES.size();
+    }
+
+    public static boolean isMissingMessage(String key, Locale locale) {
+        checkLocale(locale);
+        return Misses.MESSAGES.contains(key);
+    }
+
+    public static void markMissingMessage(String key, Locale locale) {
+        checkLocale(locale);
+        Misses.MESSAGES.put(key, Boolean.TRUE);
+    }
+
+    public static boolean isMissingClass(String className) {
+        return Misses.CLASSES.contains(className);
+    }
+
+    public static void markMissingClass(String className) {
+        Misses.CLASSES.put(className, Boolean.TRUE);
+    }
+
+    /**
+     * Discards all cached entries, including remembered misses.
+     */
+    public static void invalidate() {
+        Templates.TEMPLATES.clear();
+        invalidateMisses();
+    }
+
+    /**
+     * Discards remembered misses only. Useful after new templates or
+     * messages become available at runtime.
+     */
+    public static void invalidateMisses() {
+        Misses.MESSAGES.clear();
+        Misses.CLASSES.clear();
+    }
+
+    /**
+     * Discards all cached entries that belong to the given controller class.
+     */
+    public static void invalidateController(Class controllerClass) {
+        for (Iterator<Key> keys = Templates.TEMPLATES.keySet().iterator(); keys.hasNext(); ) {
+            if (keys.next().controllerClass == controllerClass) keys.remove();
+        }
+    }
+
+    /**
+     * Discards all cached entries that belong to the given validateable class.
+     */
+    public static void invalidateValidateable(Class validateableClass) {
+        for (Iterator<Key> keys = Templates.TEMPLATES.keySet().iterator(); keys.hasNext(); ) {
+            if (keys.next().validateableClass == validateableClass) keys.remove();
+        }
+    }
+
+    private static void checkLocale(Locale locale) {
+        if (locale != null && !locale.equals(currentLocale)) {
+            synchronized (LOCK) {
+                if (!locale.equals(currentLocale)) {
+                    Misses.MESSAGES.clear();
+                    currentLocale = locale;
+                }
+            }
+        }
+    }
+
+    private static int cacheSize(String key, int defaultSize) {
+        GriffonApplication app = getApplication();
+        if (app == null) return defaultSize;
+        return getConfigValueAsInt(app.getConfig(), key, defaultSize);
+    }
+
+    // initialized on first use, by then the application's config is available
+    private static final class Templates {
+        private static final BoundedCache<Key, Class> TEMPLATES = new BoundedCache<Key, Class>(cacheSize(KEY_TEMPLATES_SIZE, DEFAULT_TEMPLATES_SIZE));
+    }
+
+    // initialized on first use, by then the application's config is available
+    private static final class Misses {
+        private static final BoundedCache<String, Boolean> MESSAGES = new BoundedCache<String, Boolean>(cacheSize(KEY_MISSES_SIZE, DEFAULT_MISSES_SIZE));
+        private static final BoundedCache<String, Boolean> CLASSES = new BoundedCache<String, Boolean>(cacheSize(KEY_MISSES_SIZE, DEFAULT_MISSES_SIZE));
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final Class controllerClass;
+        private final String actionName;
+        private final Class validateableClass;
+        private final String property;
+        private final String widget;
+        private final Locale locale;
+        private final int hashCode;
+
+        private Key(Kind kind, Class controllerClass, String actionName, Class validateableClass, String property, String widget, Locale locale) {
+            this.kind = kind;
+            this.controllerClass = controllerClass;
+            this.actionName = actionName;
+            this.validateableClass = validateableClass;
+            this.property = property;
+            this.widget = widget;
+            this.locale = locale;
+
+            int result = kind.hashCode();
+            result = 31 * result + controllerClass.hashCode();
+            result = 31 * result + (actionName != null ? actionName.hashCode() : 0);
+            result = 31 * result + validateableClass.hashCode();
+            result = 31 * result + (property != null ? property.hashCode() : 0);
+            result = 31 * result + (widget != null ? widget.hashCode() : 0);
+            result = 31 * result + (locale != null ? locale.hashCode() : 0);
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key that = (Key) o;
+
+            return hashCode == that.hashCode &&
+                kind == that.kind &&
+                controllerClass == that.controllerClass &&
+                validateableClass == that.validateableClass &&
+                (actionName != null ? actionName.equals(that.actionName) : that.actionName == null) &&
+                (property != null ? property.equals(that.property) : that.property == null) &&
+                (widget != null ? widget.equals(that.widget) : that.widget == null) &&
+                (locale != null ? locale.equals(that.locale) : that.locale == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
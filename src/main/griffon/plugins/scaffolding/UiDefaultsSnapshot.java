@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import groovy.util.ConfigObject;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static griffon.util.ConfigUtils.getConfigValue;
+
+/**
+ * A version of the UI defaults plus every value derived from it.<p>
+ * Snapshots are never modified once published; reloading the UI defaults
+ * creates a new snapshot, which discards all derived values at once.
+ *
+ * @author Andres Almiray
+ */
+public final class UiDefaultsSnapshot {
+    private static final String KEY_WIDGET = "widget";
+
+    private final ConfigObject config;
+    private final long timestamp;
+    private final ConcurrentMap<String, Map<String, Object>> widgetDefaults = new ConcurrentHashMap<String, Map<String, Object>>();
+
+    public UiDefaultsSnapshot(ConfigObject config) {
+        this.config = config;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the merged UI defaults. Callers must treat the returned value as read only.
+     */
+    public ConfigObject getConfig() {
+        return config;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the default attributes of a widget, that is, the generic {@code widget}
+     * section of the UI defaults overlaid with the section named after the widget.
+     * Results are computed once per widget name and are immutable.
+     */
+    public Map<String, Object> widgetDefaults(String widget) {
+        String key = widget == null ? "" : widget;
+        Map<String, Object> defaults = widgetDefaults.get(key);
+        if (defaults == null) {
+            Map<String, Object> attributes = new LinkedHashMap<String, Object>();
+            putAll(attributes, getConfigValue(config, KEY_WIDGET, null));
+            if (widget != null) {
+                putAll(attributes, getConfigValue(config, widget, null));
+            }
+            defaults = Collections.unmodifiableMap(attributes);
+            Map<String, Object> previous = widgetDefaults.putIfAbsent(key, defaults);
+            if (previous != null) defaults = previous;
+        }
+        return defaults;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putAll(Map<String, Object> attributes, Object section) {
+        if (section instanceof Map) {
+            attributes.putAll((Map<String, Object>) section);
+        }
+    }
+}
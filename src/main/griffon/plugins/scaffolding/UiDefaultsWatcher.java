@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding;
+
+import griffon.core.GriffonApplication;
+import griffon.util.Environment;
+import griffon.util.RunnableWithArgs;
+import griffon.util.RunnableWithArgsClosure;
+import groovy.util.ConfigObject;
+import groovy.util.ConfigSlurper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import static griffon.util.ConfigUtils.getConfigValueAsBoolean;
+import static griffon.util.ConfigUtils.getConfigValueAsInt;
+import static griffon.util.ConfigUtils.getConfigValueAsString;
+import static griffon.util.GriffonExceptionHandler.sanitize;
+
+/**
+ * Polls the UiDefaults script on the filesystem and reloads the UI defaults when it changes.<p>
+ * The following configuration flags are supported
+ * <ul>
+ * <li>{@code scaffolding.uidefaults.reload.enabled} - boolean, defaults to {@code true} in development mode only</li>
+ * <li>{@code scaffolding.uidefaults.reload.file} - path to the script, defaults to {@value #DEFAULT_FILE} relative to the base directory</li>
+ * <li>{@code scaffolding.uidefaults.reload.interval} - polling interval in seconds, defaults to {@value #DEFAULT_INTERVAL}</li>
+ * </ul>
+ * The watcher stops when the application shuts down.
+ *
+ * @author Andres Almiray
+ */
+public final class UiDefaultsWatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(UiDefaultsWatcher.class);
+    public static final String DEFAULT_FILE = "griffon-app/conf/UiDefaults.groovy";
+    public static final int DEFAULT_INTERVAL = 2;
+    private static final String KEY_RELOAD_ENABLED = "scaffolding.uidefaults.reload.enabled";
+    private static final String KEY_RELOAD_FILE = "scaffolding.uidefaults.reload.file";
+    private static final String KEY_RELOAD_INTERVAL = "scaffolding.uidefaults.reload.interval";
+
+    private static final Object LOCK = new Object[0];
+    private static Timer timer;
+
+    private UiDefaultsWatcher() {
+    }
+
+    public static void start(GriffonApplication app) {
+        boolean enabled = getConfigValueAsBoolean(app.getConfig(), KEY_RELOAD_ENABLED, Environment.getCurrent() == Environment.DEVELOPMENT);
+        if (!enabled) return;
+
+        File file = new File(getConfigValueAsString(app.getConfig(), KEY_RELOAD_FILE, DEFAULT_FILE));
+        if (!file.isAbsolute()) {
+            file = new File(System.getProperty("base.dir", System.getProperty("user.dir")), file.getPath());
+        }
+        if (!file.exists()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Not watching UI defaults, " + file + " does not exist");
+            }
+            return;
+        }
+
+        long interval = getConfigValueAsInt(app.getConfig(), KEY_RELOAD_INTERVAL, DEFAULT_INTERVAL) * 1000L;
+        synchronized (LOCK) {
+            if (timer != null) return;
+            if (LOG.isInfoEnabled()) {
+                LOG.info("Watching " + file + " for UI defaults changes");
+            }
+            timer = new Timer("scaffolding-uidefaults-watcher", true);
+            timer.schedule(new WatchTask(file), interval, interval);
+        }
+        app.addApplicationEventListener("ShutdownStart", new RunnableWithArgsClosure(new RunnableWithArgs() {
+            public void run(Object[] args) {
+                stop();
+            }
+        }));
+    }
+
+    public static void stop() {
+        synchronized (LOCK) {
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+        }
+    }
+
+    private static class WatchTask extends TimerTask {
+        private final File file;
+        private long lastModified;
+
+        private WatchTask(File file) {
+            this.file = file;
+            this.lastModified = file.lastModified();
+        }
+
+        public void run() {
+            long modified = file.lastModified();
+            if (modified == lastModified) return;
+            lastModified = modified;
+
+            try {
+                ConfigObject globalDefaults = new ConfigSlurper(Environment.getCurrent().getName()).parse(file.toURI().toURL());
+                ScaffoldingUtils.reloadUiDefaults(globalDefaults);
+            } catch (Exception e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Could not reload UI defaults from " + file, sanitize(e));
+                }
+            }
+        }
+    }
+}
@@ -15,24 +15,68 @@
  */
 package griffon.plugins.scaffolding.atoms;
 
-import griffon.exceptions.BeanInstantiationException;
 import griffon.plugins.scaffolding.AtomicValue;
+import griffon.plugins.scaffolding.AtomicValueRegistry;
 import org.codehaus.griffon.runtime.core.AbstractObservable;
 
-import static griffon.util.GriffonExceptionHandler.sanitize;
-
 /**
+ * Base class for atomic values.<p>
+ * Changes to the {@code value} property are only reported when the value actually
+ * changes and somebody listens to it. {@link #setValueQuietly(Object)} and
+ * {@link #setValuesQuietly(AtomicValue[], Object[])} update values without reporting
+ * changes at all, which suits atoms used as plain holders, e.g. when loading data in bulk.
+ *
  * @author Andres Almiray
  */
 public abstract class AbstractAtomicValue extends AbstractObservable implements AtomicValue, Comparable<AtomicValue> {
+    private static final String VALUE = "value";
+
     protected Object value;
+    private boolean quiet;
 
     public Object getValue() {
         return value;
     }
 
     public void setValue(Object value) {
-        firePropertyChange("value", this.value, this.value = value);
+        Object oldValue = this.value;
+        this.value = value;
+        if (quiet || oldValue == value || !pcs.hasListeners(VALUE)) return;
+        if (oldValue != null && oldValue.equals(value)) return;
+        firePropertyChange(VALUE, oldValue, value);
+    }
+
+    /**
+     * Sets the value without notifying listeners. Conversions performed by
+     * {@link #setValue(Object)} still apply.
+     */
+    public void setValueQuietly(Object value) {
+        boolean wasQuiet = quiet;
+        quiet = true;
+        try {
+            setValue(value);
+        } finally {
+            quiet = wasQuiet;
+        }
+    }
+
+    /**
+     * Sets the value of each atom to the value at the same index without notifying listeners.
+     */
+    public static void setValuesQuietly(AtomicValue[] atoms, Object[] values) {
+        if (atoms.length != values.length) {
+            throw new IllegalArgumentException("Expected " + atoms.length + " values but got " + values.length);
+        }
+        for (int i = 0; i < atoms.length; i++) {
+            AtomicValue atom = atoms[i];
+            if (atom instanceof AbstractAtomicValue) {
+                ((AbstractAtomicValue) atom).setValueQuietly(values[i]);
+            } else if (atom instanceof AbstractUnboxedAtomicValue) {
+                ((AbstractUnboxedAtomicValue) atom).setValueQuietly(values[i]);
+            } else {
+                atom.setValue(values[i]);
+            }
+        }
     }
 
     @Override
@@ -71,18 +115,10 @@ public abstract class AbstractAtomicValue extends AbstractObservable implements
     }
 
     public static AtomicValue wrap(Object value, Class atomicValueType) {
-        try {
-            AtomicValue atom = (AtomicValue) atomicValueType.newInstance();
-            atom.setValue(value);
-            return atom;
-        } catch (InstantiationException e) {
-            BeanInstantiationException x = new BeanInstantiationException(e);
-            sanitize(x);
-            throw x;
-        } catch (IllegalAccessException e) {
-            BeanInstantiationException x = new BeanInstantiationException(e);
-            sanitize(x);
-            throw x;
-        }
+        return AtomicValueRegistry.wrap(value, atomicValueType);
+    }
+
+    public static AtomicValue wrapValue(Object value, Class valueType) {
+        return AtomicValueRegistry.wrapValue(value, valueType);
     }
 }
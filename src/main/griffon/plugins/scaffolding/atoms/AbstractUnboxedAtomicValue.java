@@ -0,0 +1,189 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms;
+
+import griffon.plugins.scaffolding.AtomicValue;
+import griffon.plugins.scaffolding.PrimitiveAtomicValue;
+import org.codehaus.griffon.runtime.core.AbstractObservable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class for atomic values that keep their state in a primitive field.<p>
+ * Values are only boxed when read through {@link #getValue()} or when a change
+ * must be reported to a listener of the {@code value} property; subclasses expose
+ * typed accessors (such as {@code getInt()}/{@code setInt(int)}) that never box, as
+ * well as the accessors of their boxed counterparts (such as {@code intValue()}),
+ * so an {@code UnboxedIntegerValue} can stand in for an {@code IntegerValue}.<p>
+ * "Unboxed" only describes how the value is stored. Whether it behaves as a
+ * primitive is decided by {@link #isPrimitive()}, which is {@code false} by default
+ * as for {@code AbstractPrimitiveAtomicValue}: instances start out {@code null} and
+ * may be set to {@code null}. Setting
+ * {@code null} on a primitive instance resets it to the default value of its type.<p>
+ * Subclasses store the value in their own field. Typed setters bracket the store
+ * with {@link #valueChanging(boolean)} and {@link #valueChanged(Object)}, which take
+ * care of the {@code null} state and of notifying listeners.<p>
+ * Instances compare by value with any atomic value of the same value type, boxed
+ * counterparts included.
+ *
+ * @author Andres Almiray
+ */
+public abstract class AbstractUnboxedAtomicValue extends AbstractObservable implements PrimitiveAtomicValue, Comparable<AtomicValue> {
+    private static final String VALUE = "value";
+    private static final Object UNCHANGED = new Object();
+    private static final Map<Class, Class> PRIMITIVE_WRAPPERS = new HashMap<Class, Class>();
+
+    static {
+        PRIMITIVE_WRAPPERS.put(Boolean.TYPE, Boolean.class);
+        PRIMITIVE_WRAPPERS.put(Byte.TYPE, Byte.class);
+        PRIMITIVE_WRAPPERS.put(Short.TYPE, Short.class);
+        PRIMITIVE_WRAPPERS.put(Integer.TYPE, Integer.class);
+        PRIMITIVE_WRAPPERS.put(Long.TYPE, Long.class);
+        PRIMITIVE_WRAPPERS.put(Float.TYPE, Float.class);
+        PRIMITIVE_WRAPPERS.put(Double.TYPE, Double.class);
+    }
+
+    private boolean primitive;
+    private boolean nullValue = true;
+    private boolean quiet;
+
+    public boolean isPrimitive() {
+        return primitive;
+    }
+
+    public void setPrimitive(boolean primitive) {
+        this.primitive = primitive;
+        if (primitive && nullValue) setValue(null);
+    }
+
+    public boolean isNull() {
+        return nullValue;
+    }
+
+    public void setValue(Object value) {
+        if (value != null) {
+            assignValue(value);
+        } else if (primitive) {
+            assignDefaultValue();
+        } else {
+            clearValue();
+        }
+    }
+
+    /**
+     * Sets the value without notifying listeners.
+     */
+    public void setValueQuietly(Object value) {
+        boolean wasQuiet = quiet;
+        quiet = true;
+        try {
+            setValue(value);
+        } finally {
+            quiet = wasQuiet;
+        }
+    }
+
+    /**
+     * Assigns a non {@code null} value, converting it to the type of the field.
+     *
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    protected abstract void assignValue(Object value);
+
+    /**
+     * Assigns the default value of the type of the field.
+     */
+    protected abstract void assignDefaultValue();
+
+    /**
+     * Must be called by typed setters before storing a new value. Returns the
+     * current value, boxed, if listeners must be told about the change, or a
+     * marker to be handed to {@link #valueChanged(Object)} otherwise.
+     *
+     * @param changed whether the new value differs from the stored one
+     */
+    protected final Object valueChanging(boolean changed) {
+        Object oldValue = (nullValue || changed) && hasValueListeners() ? getValue() : UNCHANGED;
+        nullValue = false;
+        return oldValue;
+    }
+
+    /**
+     * Must be called by typed setters after storing a new value, with the result
+     * of {@link #valueChanging(boolean)}.
+     */
+    protected final void valueChanged(Object oldValue) {
+        if (oldValue != UNCHANGED) firePropertyChange(VALUE, oldValue, getValue());
+    }
+
+    private boolean hasValueListeners() {
+        return !quiet && pcs.hasListeners(VALUE);
+    }
+
+    private void clearValue() {
+        if (nullValue) return;
+        Object oldValue = hasValueListeners() ? getValue() : UNCHANGED;
+        boolean wasQuiet = quiet;
+        quiet = true;
+        try {
+            assignDefaultValue();
+        } finally {
+            quiet = wasQuiet;
+        }
+        nullValue = true;
+        if (oldValue != UNCHANGED) firePropertyChange(VALUE, oldValue, null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AtomicValue)) return false;
+
+        Object value = getValue();
+        Object otherValue = ((AtomicValue) o).getValue();
+        return value != null ? value.equals(otherValue) : otherValue == null;
+    }
+
+    @Override
+    public int hashCode() {
+        Object value = getValue();
+        return value != null ? value.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return nullValue ? null : String.valueOf(getValue());
+    }
+
+    public int compareTo(AtomicValue other) {
+        if (this == other) return 0;
+        if (other == null || wrap(getValueType()) != wrap(other.getValueType())) return -1;
+        Object value = getValue();
+        Object otherValue = other.getValue();
+
+        if (value == null && otherValue == null) return 0;
+        if (value != null && otherValue == null) return -1;
+        if (value == null) return 1;
+        return ((Comparable) value).compareTo(otherValue);
+    }
+
+    private static Class wrap(Class type) {
+        Class wrapper = PRIMITIVE_WRAPPERS.get(type);
+        return wrapper != null ? wrapper : type;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms;
+
+/**
+ * {@code Boolean} atomic value backed by a {@code boolean} field.
+ *
+ * @author Andres Almiray
+ */
+public class UnboxedBooleanValue extends AbstractUnboxedAtomicValue {
+    private boolean value;
+
+    public UnboxedBooleanValue() {
+    }
+
+    public UnboxedBooleanValue(boolean arg) {
+        setBoolean(arg);
+    }
+
+    public UnboxedBooleanValue(Boolean arg) {
+        setValue(arg);
+    }
+
+    public boolean getBoolean() {
+        return value;
+    }
+
+    public void setBoolean(boolean newValue) {
+        Object oldValue = valueChanging(value != newValue);
+        value = newValue;
+        valueChanged(oldValue);
+    }
+
+    public Boolean booleanValue() {
+        return isNull() ? null : Boolean.valueOf(value);
+    }
+
+    public Object getValue() {
+        return isNull() ? null : Boolean.valueOf(value);
+    }
+
+    public Class getValueType() {
+        return isPrimitive() ? Boolean.TYPE : Boolean.class;
+    }
+
+    protected void assignValue(Object value) {
+        if (!(value instanceof Boolean)) throw new IllegalArgumentException("Invalid value " + value);
+        setBoolean((Boolean) value);
+    }
+
+    protected void assignDefaultValue() {
+        setBoolean(false);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms;
+
+/**
+ * {@code Byte} atomic value backed by a {@code byte} field.
+ *
+ * @author Andres Almiray
+ */
+public class UnboxedByteValue extends AbstractUnboxedAtomicValue implements NumericAtomicValue {
+    private byte value;
+
+    public UnboxedByteValue() {
+    }
+
+    public UnboxedByteValue(byte arg) {
+        setByte(arg);
+    }
+
+    public UnboxedByteValue(Number arg) {
+        setValue(arg);
+    }
+
+    public byte getByte() {
+        return value;
+    }
+
+    public void setByte(byte newValue) {
+        Object oldValue = valueChanging(value != newValue);
+        value = newValue;
+        valueChanged(oldValue);
+    }
+
+    public Byte byteValue() {
+        return isNull() ? null : Byte.valueOf(value);
+    }
+
+    public Object getValue() {
+        return isNull() ? null : Byte.valueOf(value);
+    }
+
+    public Class getValueType() {
+        return isPrimitive() ? Byte.TYPE : Byte.class;
+    }
+
+    protected void assignValue(Object value) {
+        if (!(value instanceof Number)) throw new IllegalArgumentException("Invalid value " + value);
+        setByte(((Number) value).byteValue());
+    }
+
+    protected void assignDefaultValue() {
+        setByte((byte) 0);
+    }
+}
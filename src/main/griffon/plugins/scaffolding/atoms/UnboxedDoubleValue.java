@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms;
+
+/**
+ * {@code Double} atomic value backed by a {@code double} field.
+ *
+ * @author Andres Almiray
+ */
+public class UnboxedDoubleValue extends AbstractUnboxedAtomicValue implements NumericAtomicValue {
+    private double value;
+
+    public UnboxedDoubleValue() {
+    }
+
+    public UnboxedDoubleValue(double arg) {
+        setDouble(arg);
+    }
+
+    public UnboxedDoubleValue(Number arg) {
+        setValue(arg);
+    }
+
+    public double getDouble() {
+        return value;
+    }
+
+    public void setDouble(double newValue) {
+        Object oldValue = valueChanging(Double.doubleToLongBits(value) != Double.doubleToLongBits(newValue));
+        value = newValue;
+        valueChanged(oldValue);
+    }
+
+    public Double doubleValue() {
+        return isNull() ? null : Double.valueOf(value);
+    }
+
+    public Object getValue() {
+        return isNull() ? null : Double.valueOf(value);
+    }
+
+    public Class getValueType() {
+        return isPrimitive() ? Double.TYPE : Double.class;
+    }
+
+    protected void assignValue(Object value) {
+        if (!(value instanceof Number)) throw new IllegalArgumentException("Invalid value " + value);
+        setDouble(((Number) value).doubleValue());
+    }
+
+    protected void assignDefaultValue() {
+        setDouble(0d);
+    }
+}
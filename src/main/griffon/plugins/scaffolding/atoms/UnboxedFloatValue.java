@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms;
+
+/**
+ * {@code Float} atomic value backed by a {@code float} field.
+ *
+ * @author Andres Almiray
+ */
+public class UnboxedFloatValue extends AbstractUnboxedAtomicValue implements NumericAtomicValue {
+    private float value;
+
+    public UnboxedFloatValue() {
+    }
+
+    public UnboxedFloatValue(float arg) {
+        setFloat(arg);
+    }
+
+    public UnboxedFloatValue(Number arg) {
+        setValue(arg);
+    }
+
+    public float getFloat() {
+        return value;
+    }
+
+    public void setFloat(float newValue) {
+        Object oldValue = valueChanging(Float.floatToIntBits(value) != Float.floatToIntBits(newValue));
+        value = newValue;
+        valueChanged(oldValue);
+    }
+
+    public Float floatValue() {
+        return isNull() ? null : Float.valueOf(value);
+    }
+
+    public Object getValue() {
+        return isNull() ? null : Float.valueOf(value);
+    }
+
+    public Class getValueType() {
+        return isPrimitive() ? Float.TYPE : Float.class;
+    }
+
+    protected void assignValue(Object value) {
+        if (!(value instanceof Number)) throw new IllegalArgumentException("Invalid value " + value);
+        setFloat(((Number) value).floatValue());
+    }
+
+    protected void assignDefaultValue() {
+        setFloat(0f);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms;
+
+/**
+ * {@code Integer} atomic value backed by a {@code int} field.
+ *
+ * @author Andres Almiray
+ */
+public class UnboxedIntegerValue extends AbstractUnboxedAtomicValue implements NumericAtomicValue {
+    private int value;
+
+    public UnboxedIntegerValue() {
+    }
+
+    public UnboxedIntegerValue(int arg) {
+        setInt(arg);
+    }
+
+    public UnboxedIntegerValue(Number arg) {
+        setValue(arg);
+    }
+
+    public int getInt() {
+        return value;
+    }
+
+    public void setInt(int newValue) {
+        Object oldValue = valueChanging(value != newValue);
+        value = newValue;
+        valueChanged(oldValue);
+    }
+
+    public Integer integerValue() {
+        return isNull() ? null : Integer.valueOf(value);
+    }
+
+    public Integer intValue() {
+        return isNull() ? null : Integer.valueOf(value);
+    }
+
+    public Object getValue() {
+        return isNull() ? null : Integer.valueOf(value);
+    }
+
+    public Class getValueType() {
+        return isPrimitive() ? Integer.TYPE : Integer.class;
+    }
+
+    protected void assignValue(Object value) {
+        if (!(value instanceof Number)) throw new IllegalArgumentException("Invalid value " + value);
+        setInt(((Number) value).intValue());
+    }
+
+    protected void assignDefaultValue() {
+        setInt(0);
+    }
+}
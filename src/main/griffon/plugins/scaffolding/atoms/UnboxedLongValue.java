@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms;
+
+/**
+ * {@code Long} atomic value backed by a {@code long} field.
+ *
+ * @author Andres Almiray
+ */
+public class UnboxedLongValue extends AbstractUnboxedAtomicValue implements NumericAtomicValue {
+    private long value;
+
+    public UnboxedLongValue() {
+    }
+
+    public UnboxedLongValue(long arg) {
+        setLong(arg);
+    }
+
+    public UnboxedLongValue(Number arg) {
+        setValue(arg);
+    }
+
+    public long getLong() {
+        return value;
+    }
+
+    public void setLong(long newValue) {
+        Object oldValue = valueChanging(value != newValue);
+        value = newValue;
+        valueChanged(oldValue);
+    }
+
+    public Long longValue() {
+        return isNull() ? null : Long.valueOf(value);
+    }
+
+    public Object getValue() {
+        return isNull() ? null : Long.valueOf(value);
+    }
+
+    public Class getValueType() {
+        return isPrimitive() ? Long.TYPE : Long.class;
+    }
+
+    protected void assignValue(Object value) {
+        if (!(value instanceof Number)) throw new IllegalArgumentException("Invalid value " + value);
+        setLong(((Number) value).longValue());
+    }
+
+    protected void assignDefaultValue() {
+        setLong(0L);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms;
+
+/**
+ * {@code Short} atomic value backed by a {@code short} field.
+ *
+ * @author Andres Almiray
+ */
+public class UnboxedShortValue extends AbstractUnboxedAtomicValue implements NumericAtomicValue {
+    private short value;
+
+    public UnboxedShortValue() {
+    }
+
+    public UnboxedShortValue(short arg) {
+        setShort(arg);
+    }
+
+    public UnboxedShortValue(Number arg) {
+        setValue(arg);
+    }
+
+    public short getShort() {
+        return value;
+    }
+
+    public void setShort(short newValue) {
+        Object oldValue = valueChanging(value != newValue);
+        value = newValue;
+        valueChanged(oldValue);
+    }
+
+    public Short shortValue() {
+        return isNull() ? null : Short.valueOf(value);
+    }
+
+    public Object getValue() {
+        return isNull() ? null : Short.valueOf(value);
+    }
+
+    public Class getValueType() {
+        return isPrimitive() ? Short.TYPE : Short.class;
+    }
+
+    protected void assignValue(Object value) {
+        if (!(value instanceof Number)) throw new IllegalArgumentException("Invalid value " + value);
+        setShort(((Number) value).shortValue());
+    }
+
+    protected void assignDefaultValue() {
+        setShort((short) 0);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import griffon.core.resources.editors.ValueConversionException;
+import griffon.plugins.scaffolding.Converter;
+
+/**
+ * @author Andres Almiray
+ */
+public abstract class AbstractConverter<S, T> implements Converter<S, T> {
+    private final Class<S> sourceType;
+    private final Class<T> targetType;
+
+    protected AbstractConverter(Class<S> sourceType, Class<T> targetType) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+    }
+
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    public Class<T> getTargetType() {
+        return targetType;
+    }
+
+    public T convert(S value) throws ValueConversionException {
+        if (value == null) return null;
+        try {
+            return doConvert(value);
+        } catch (ValueConversionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ValueConversionException(value, targetType, e);
+        }
+    }
+
+    protected abstract T doConvert(S value);
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + sourceType.getName() + " -> " + targetType.getName() + "]";
+    }
+}
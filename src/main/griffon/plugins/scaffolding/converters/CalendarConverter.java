@@ -0,0 +1,37 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import java.util.Calendar;
+
+/**
+ * Converts dates, calendars, milliseconds and Joda instants and local dates into {@code java.util.Calendar}.
+ *
+ * @author Andres Almiray
+ */
+public class CalendarConverter<S> extends AbstractConverter<S, Calendar> {
+    public CalendarConverter(Class<S> sourceType) {
+        super(sourceType, Calendar.class);
+    }
+
+    @Override
+    protected Calendar doConvert(S value) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(DateConverter.toMillis(value));
+        return calendar;
+    }
+}
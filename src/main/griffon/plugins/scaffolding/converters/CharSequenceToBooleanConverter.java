@@ -0,0 +1,40 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import griffon.core.resources.editors.ValueConversionException;
+
+/**
+ * Accepts {@code true} and {@code false} in any case. Blank text converts to {@code null}.
+ * Any other text is rejected and left to the property editor.
+ *
+ * @author Andres Almiray
+ */
+public class CharSequenceToBooleanConverter extends AbstractConverter<CharSequence, Boolean> {
+    public CharSequenceToBooleanConverter() {
+        super(CharSequence.class, Boolean.class);
+    }
+
+    @Override
+    protected Boolean doConvert(CharSequence value) {
+        String str = value.toString().trim();
+        if (str.length() == 0) return null;
+        if ("true".equalsIgnoreCase(str)) return Boolean.TRUE;
+        if ("false".equalsIgnoreCase(str)) return Boolean.FALSE;
+        throw new ValueConversionException(value, Boolean.class);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import griffon.core.resources.editors.ValueConversionException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Parses numbers from their plain (unformatted) textual representation. Blank text converts to {@code null}.
+ * Only plain decimal literals are accepted: an optional minus sign followed by digits, plus a fraction
+ * for floating point and {@code BigDecimal} targets. Anything else, such as type suffixes, exponents,
+ * hexadecimal notation or text whose value does not fit the target type, is rejected and left to the
+ * property editor.
+ *
+ * @author Andres Almiray
+ */
+public class CharSequenceToNumberConverter<T extends Number> extends AbstractConverter<CharSequence, T> {
+    public CharSequenceToNumberConverter(Class<T> targetType) {
+        super(CharSequence.class, targetType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T doConvert(CharSequence value) {
+        String str = value.toString().trim();
+        if (str.length() == 0) return null;
+
+        Class<T> targetType = getTargetType();
+        boolean fractional = targetType == Double.class || targetType == Float.class || targetType == BigDecimal.class;
+        if (!isPlainDecimal(str, fractional)) throw new ValueConversionException(value, targetType);
+
+        if (targetType == Integer.class) {
+            return (T) Integer.valueOf(str);
+        } else if (targetType == Long.class) {
+            return (T) Long.valueOf(str);
+        } else if (targetType == Double.class) {
+            Double number = Double.valueOf(str);
+            if (number.isInfinite()) throw new ValueConversionException(value, targetType);
+            return (T) number;
+        } else if (targetType == Float.class) {
+            Float number = Float.valueOf(str);
+            if (number.isInfinite()) throw new ValueConversionException(value, targetType);
+            return (T) number;
+        } else if (targetType == Short.class) {
+            return (T) Short.valueOf(str);
+        } else if (targetType == Byte.class) {
+            return (T) Byte.valueOf(str);
+        } else if (targetType == BigDecimal.class) {
+            return (T) new BigDecimal(str);
+        } else if (targetType == BigInteger.class) {
+            return (T) new BigInteger(str);
+        }
+        throw new IllegalArgumentException("Unsupported numeric type " + targetType.getName());
+    }
+
+    private static boolean isPlainDecimal(String str, boolean fractional) {
+        int start = str.charAt(0) == '-' ? 1 : 0;
+        int digits = 0;
+        boolean point = false;
+        for (int i = start; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && fractional && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return digits > 0;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.ReadableInstant;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Converts dates, calendars, milliseconds and Joda instants and local dates into {@code java.util.Date}.
+ *
+ * @author Andres Almiray
+ */
+public class DateConverter<S> extends AbstractConverter<S, Date> {
+    public DateConverter(Class<S> sourceType) {
+        super(sourceType, Date.class);
+    }
+
+    @Override
+    protected Date doConvert(S value) {
+        return new Date(toMillis(value));
+    }
+
+    static long toMillis(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else if (value instanceof Calendar) {
+            return ((Calendar) value).getTimeInMillis();
+        } else if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (value instanceof ReadableInstant) {
+            return ((ReadableInstant) value).getMillis();
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).toDate().getTime();
+        } else if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).toDate().getTime();
+        }
+        throw new IllegalArgumentException("Invalid value " + value);
+    }
+}
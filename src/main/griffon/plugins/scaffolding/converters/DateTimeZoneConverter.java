@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import org.joda.time.DateTimeZone;
+
+import java.util.TimeZone;
+
+/**
+ * Converts time zones and time zone ids into {@code DateTimeZone}. Blank text converts to {@code null}.
+ *
+ * @author Andres Almiray
+ */
+public class DateTimeZoneConverter<S> extends AbstractConverter<S, DateTimeZone> {
+    public DateTimeZoneConverter(Class<S> sourceType) {
+        super(sourceType, DateTimeZone.class);
+    }
+
+    @Override
+    protected DateTimeZone doConvert(S value) {
+        if (value instanceof TimeZone) {
+            return DateTimeZone.forTimeZone((TimeZone) value);
+        }
+        String id = value.toString().trim();
+        return id.length() == 0 ? null : DateTimeZone.forID(id);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import org.joda.time.*;
+
+import static java.lang.Math.abs;
+
+/**
+ * Converts numbers into Joda periods and durations. Negative numbers are converted
+ * to their absolute value, just like the matching atomic values do.
+ *
+ * @author Andres Almiray
+ */
+public class JodaPeriodConverter<T> extends AbstractConverter<Number, T> {
+    public JodaPeriodConverter(Class<T> targetType) {
+        super(Number.class, targetType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T doConvert(Number value) {
+        Class<T> targetType = getTargetType();
+        if (targetType == Duration.class) {
+            return (T) new Duration(abs(value.longValue()));
+        }
+
+        int amount = abs(value.intValue());
+        if (targetType == Years.class) {
+            return (T) Years.years(amount);
+        } else if (targetType == Months.class) {
+            return (T) Months.months(amount);
+        } else if (targetType == Weeks.class) {
+            return (T) Weeks.weeks(amount);
+        } else if (targetType == Days.class) {
+            return (T) Days.days(amount);
+        } else if (targetType == Hours.class) {
+            return (T) Hours.hours(amount);
+        } else if (targetType == Minutes.class) {
+            return (T) Minutes.minutes(amount);
+        } else if (targetType == Seconds.class) {
+            return (T) Seconds.seconds(amount);
+        }
+        throw new IllegalArgumentException("Unsupported period type " + targetType.getName());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import org.joda.time.*;
+
+/**
+ * Converts dates, calendars, milliseconds, Joda instants and local dates into
+ * {@code DateTime}, {@code Instant}, {@code LocalDate}, {@code LocalDateTime} or {@code LocalTime}.
+ *
+ * @author Andres Almiray
+ */
+public class JodaTemporalConverter<S, T> extends AbstractConverter<S, T> {
+    public JodaTemporalConverter(Class<S> sourceType, Class<T> targetType) {
+        super(sourceType, targetType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T doConvert(S value) {
+        Object instant = value;
+        if (instant instanceof Number) {
+            instant = ((Number) instant).longValue();
+        } else if (instant instanceof LocalDate) {
+            instant = ((LocalDate) instant).toDateTimeAtStartOfDay();
+        } else if (instant instanceof LocalDateTime) {
+            instant = ((LocalDateTime) instant).toDateTime();
+        }
+
+        Class<T> targetType = getTargetType();
+        if (targetType == LocalDate.class) {
+            return (T) new LocalDate(instant);
+        } else if (targetType == LocalDateTime.class) {
+            return (T) new LocalDateTime(instant);
+        } else if (targetType == LocalTime.class) {
+            return (T) new LocalTime(instant);
+        } else if (targetType == DateTime.class) {
+            return (T) new DateTime(instant);
+        } else if (targetType == Instant.class) {
+            return (T) new Instant(instant);
+        }
+        throw new IllegalArgumentException("Unsupported temporal type " + targetType.getName());
+    }
+}
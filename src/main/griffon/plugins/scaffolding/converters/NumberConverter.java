@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters;
+
+import griffon.core.resources.editors.ValueConversionException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Converts between numeric types. Values outside the range of the target type are
+ * rejected with a {@code ValueConversionException} instead of being narrowed;
+ * fractions are truncated when converting to an integral type.
+ *
+ * @author Andres Almiray
+ */
+public class NumberConverter<T extends Number> extends AbstractConverter<Number, T> {
+    public NumberConverter(Class<T> targetType) {
+        super(Number.class, targetType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T doConvert(Number value) {
+        return (T) convertNumber(value, getTargetType());
+    }
+
+    static Number convertNumber(Number value, Class<?> targetType) {
+        if (targetType == Integer.class) {
+            return (int) toLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE, targetType);
+        } else if (targetType == Long.class) {
+            return toLong(value, Long.MIN_VALUE, Long.MAX_VALUE, targetType);
+        } else if (targetType == Double.class) {
+            double number = value.doubleValue();
+            if (Double.isInfinite(number) && !isInfinite(value)) throw new ValueConversionException(value, targetType);
+            return number;
+        } else if (targetType == Float.class) {
+            float number = value.floatValue();
+            if (Float.isInfinite(number) && !isInfinite(value)) throw new ValueConversionException(value, targetType);
+            return number;
+        } else if (targetType == Short.class) {
+            return (short) toLong(value, Short.MIN_VALUE, Short.MAX_VALUE, targetType);
+        } else if (targetType == Byte.class) {
+            return (byte) toLong(value, Byte.MIN_VALUE, Byte.MAX_VALUE, targetType);
+        } else if (targetType == BigDecimal.class) {
+            if (value instanceof BigInteger) return new BigDecimal((BigInteger) value);
+            if (isIntegral(value)) return BigDecimal.valueOf(value.longValue());
+            if (isNaN(value) || isInfinite(value)) throw new ValueConversionException(value, targetType);
+            return BigDecimal.valueOf(value.doubleValue());
+        } else if (targetType == BigInteger.class) {
+            if (value instanceof BigDecimal) return ((BigDecimal) value).toBigInteger();
+            if (isIntegral(value)) return BigInteger.valueOf(value.longValue());
+            if (isNaN(value) || isInfinite(value)) throw new ValueConversionException(value, targetType);
+            return new BigDecimal(value.doubleValue()).toBigInteger();
+        }
+        throw new IllegalArgumentException("Unsupported numeric type " + targetType.getName());
+    }
+
+    private static long toLong(Number value, long min, long max, Class<?> targetType) {
+        long number;
+        if (value instanceof BigInteger || value instanceof BigDecimal) {
+            BigInteger integer = value instanceof BigDecimal ? ((BigDecimal) value).toBigInteger() : (BigInteger) value;
+            if (integer.bitLength() > 63) throw new ValueConversionException(value, targetType);
+            number = integer.longValue();
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = value.doubleValue();
+            // -2^63 and 2^63 are exact as doubles, Long.MAX_VALUE is not
+            if (Double.isNaN(d) || d < -0x1p63 || d >= 0x1p63) throw new ValueConversionException(value, targetType);
+            number = (long) d;
+        } else {
+            number = value.longValue();
+        }
+        if (number < min || number > max) throw new ValueConversionException(value, targetType);
+        return number;
+    }
+
+    private static boolean isNaN(Number value) {
+        return (value instanceof Double || value instanceof Float) && Double.isNaN(value.doubleValue());
+    }
+
+    private static boolean isInfinite(Number value) {
+        return (value instanceof Double || value instanceof Float) && Double.isInfinite(value.doubleValue());
+    }
+
+    private static boolean isIntegral(Number value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+}
@@ -22,47 +22,143 @@ import griffon.core.controller.MissingControllerActionException;
 import griffon.exceptions.MVCGroupConfigurationException;
 import griffon.plugins.scaffolding.CommandObject;
 import griffon.plugins.scaffolding.ScaffoldingContext;
+import griffon.plugins.scaffolding.ScaffoldingTracer;
+import griffon.plugins.scaffolding.ScaffoldingTracing;
 import griffon.util.CollectionUtils;
 import griffon.util.Metadata;
+import griffon.util.RunnableWithArgs;
+import griffon.util.RunnableWithArgsClosure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static griffon.plugins.scaffolding.ScaffoldingUtils.EVENT_UIDEFAULTS_RELOADED;
+import static griffon.plugins.scaffolding.ScaffoldingUtils.messageCodes;
 import static griffon.plugins.scaffolding.ScaffoldingUtils.mvcMemberCodes;
 import static griffon.plugins.scaffolding.ScaffoldingUtils.qualifyActionValidatable;
+import static griffon.util.ConfigUtils.getConfigValueAsBoolean;
+import static griffon.util.ConfigUtils.getConfigValueAsInt;
 import static griffon.util.GriffonNameUtils.capitalize;
+import static org.codehaus.griffon.runtime.scaffolding.CommandObjectDisplayMetrics.Phase.*;
 import static org.codehaus.griffon.runtime.util.GriffonApplicationHelper.safeLoadClass;
 import static org.codehaus.griffon.runtime.util.GriffonApplicationHelper.safeNewInstance;
 
 /**
+ * Displays the MVC group associated with a command object.<p>
+ * MVC groups are created and destroyed on every display by default. Pooling of
+ * groups can be enabled with the following configuration flags
+ * <ul>
+ * <li>{@code scaffolding.pool.enabled} - boolean, defaults to {@code false}</li>
+ * <li>{@code scaffolding.pool.size} - maximum idle groups per command, defaults to {@value #DEFAULT_POOL_SIZE}</li>
+ * <li>{@code scaffolding.pool.idleTimeout} - seconds an idle group is kept around before
+ * a background timer destroys it, defaults to {@value #DEFAULT_POOL_IDLE_TIMEOUT}</li>
+ * </ul>
+ * Idle pooled groups are destroyed when the application shuts down and whenever
+ * the UI defaults are reloaded; groups on display at that time are destroyed once
+ * their dialog closes.
+ * Per phase latencies of every display are recorded by {@code CommandObjectDisplayMetrics}
+ * when {@code scaffolding.metrics.enabled} is set to {@code true}, in which case the
+ * metrics are registered with the platform MBean server as well.
+ *
  * @author Andres Almiray
  */
 public class CommandObjectDisplayHandler implements ApplicationHandler {
+    public static final int DEFAULT_POOL_SIZE = 2;
+    public static final int DEFAULT_POOL_IDLE_TIMEOUT = 300;
+    private static final String KEY_POOL_ENABLED = "scaffolding.pool.enabled";
+    private static final String KEY_POOL_SIZE = "scaffolding.pool.size";
+    private static final String KEY_POOL_IDLE_TIMEOUT = "scaffolding.pool.idleTimeout";
+    private static final String KEY_METRICS_ENABLED = "scaffolding.metrics.enabled";
+
     private final Logger LOG = LoggerFactory.getLogger(CommandObjectDisplayHandler.class);
     private final GriffonApplication app;
-    private final Map<String, ScaffoldingContext> contexts = new ConcurrentHashMap<String, ScaffoldingContext>();
+    private final Map<String, MVCGroupConfiguration> configurations = new ConcurrentHashMap<String, MVCGroupConfiguration>();
+    private final Map<String, MVCMembers> members = new ConcurrentHashMap<String, MVCMembers>();
+    private final AtomicLong groupCounter = new AtomicLong();
+    private final MVCGroupPool pool;
+    private volatile Class scaffoldingContextClass;
+    private final CommandObjectDisplayMetrics metrics = CommandObjectDisplayMetrics.getInstance();
 
     public CommandObjectDisplayHandler(GriffonApplication app) {
         this.app = app;
+        if (getConfigValueAsBoolean(app.getConfig(), KEY_POOL_ENABLED, false)) {
+            int size = getConfigValueAsInt(app.getConfig(), KEY_POOL_SIZE, DEFAULT_POOL_SIZE);
+            int idleTimeout = getConfigValueAsInt(app.getConfig(), KEY_POOL_IDLE_TIMEOUT, DEFAULT_POOL_IDLE_TIMEOUT);
+            pool = new MVCGroupPool(size, idleTimeout * 1000L);
+            app.addApplicationEventListener("ShutdownStart", new RunnableWithArgsClosure(new RunnableWithArgs() {
+                public void run(Object[] args) {
+                    pool.shutdown();
+                }
+            }));
+            // pooled views were built with the previous UI defaults
+            app.addApplicationEventListener(EVENT_UIDEFAULTS_RELOADED, new RunnableWithArgsClosure(new RunnableWithArgs() {
+                public void run(Object[] args) {
+                    UIThreadManager.getInstance().executeAsync(new Runnable() {
+                        public void run() {
+                            pool.clear();
+                        }
+                    });
+                }
+            }));
+        } else {
+            pool = null;
+        }
+        if (getConfigValueAsBoolean(app.getConfig(), KEY_METRICS_ENABLED, false)) {
+            metrics.setEnabled(true);
+            metrics.register();
+            app.addApplicationEventListener("ShutdownStart", new RunnableWithArgsClosure(new RunnableWithArgs() {
+                public void run(Object[] args) {
+                    metrics.unregister();
+                }
+            }));
+        }
     }
 
     public GriffonApplication getApp() {
         return app;
     }
 
+    /**
+     * Discards all cached MVCGroupConfigurations and resolved member classes,
+     * including entries that previously failed to resolve.
+     */
+    public void invalidate() {
+        configurations.clear();
+        members.clear();
+        if (pool != null) pool.clear();
+    }
+
+    public boolean isPoolingEnabled() {
+        return pool != null;
+    }
+
     public void display(GriffonController controller, String actionName, CommandObject commandObject) {
+        if (pool != null) {
+            displayPooled(controller, actionName, commandObject);
+            return;
+        }
+
+        long start = metrics.start();
+        String fqCommandName = start != 0L ? qualifyActionValidatable(controller, actionName, commandObject) : null;
         MVCGroupConfiguration mvcGroupConfiguration = fetchMVCGroupConfiguration(controller, actionName, commandObject);
-        ScaffoldingContext scaffoldingContext = fetchScaffoldingContext(controller, actionName, commandObject);
+        start = metrics.record(fqCommandName, CONFIGURATION, start);
+        ScaffoldingContext scaffoldingContext = createScaffoldingContext(controller, actionName, commandObject);
+        start = metrics.record(fqCommandName, CONTEXT, start);
         MVCGroup mvcGroup = mvcGroupConfiguration.create(CollectionUtils.<String, Object>map()
             .e("scaffoldingContext", scaffoldingContext));
         scaffoldingContext.setBinding(mvcGroup.getBuilder());
+        start = metrics.record(fqCommandName, CREATE, start);
         GriffonControllerAction showAction = app.getActionManager().actionFor(mvcGroup.getController(), "show");
+        boolean shown = false;
         try {
             if (showAction != null) {
                 showAction.execute();
+                start = metrics.record(fqCommandName, SHOW, start);
+                shown = true;
                 mvcGroup.destroy();
             } else {
                 if (LOG.isErrorEnabled()) {
@@ -72,77 +168,218 @@ public class CommandObjectDisplayHandler implements ApplicationHandler {
             }
         } finally {
             scaffoldingContext.dispose();
+            if (shown) metrics.record(fqCommandName, DESTROY, start);
         }
     }
 
-    private ScaffoldingContext fetchScaffoldingContext(GriffonController controller, String actionName, CommandObject commandObject) {
+    /**
+     * Resolves the MVC group configuration, widget and labeler templates and message
+     * codes for the given command object without displaying it. Member classes are
+     * only resolved when no MVC group is configured explicitly, as on display. The
+     * MVC group manager is only ever accessed from the UI thread.
+     * Resolved values end up in the shared caches, moving their cost out of the
+     * first display.
+     */
+    public void prewarm(GriffonController controller, String actionName, CommandObject commandObject) {
         String fqCommandName = qualifyActionValidatable(controller, actionName, commandObject);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Prewarming scaffolding metadata for " + fqCommandName);
+        }
+
+        try {
+            fetchMVCGroupConfiguration(controller, actionName, commandObject);
+        } catch (IllegalArgumentException e) {
+            // already logged by resolveMember
+            return;
+        }
+
+        ScaffoldingContext scaffoldingContext = createScaffoldingContext(controller, actionName, commandObject);
+        try {
+            for (String property : commandObject.constrainedProperties().keySet()) {
+                messageCodes(controller, actionName, commandObject, property);
+                try {
+                    scaffoldingContext.resolveWidget(property);
+                    scaffoldingContext.resolveLabeler(property);
+                } catch (IllegalArgumentException e) {
+                    // already logged by the context, the failure will surface on display
+                }
+            }
+        } finally {
+            scaffoldingContext.dispose();
+        }
+    }
+
+    private void displayPooled(GriffonController controller, String actionName, CommandObject commandObject) {
+        long start = metrics.start();
+        MVCGroupConfiguration mvcGroupConfiguration = fetchMVCGroupConfiguration(controller, actionName, commandObject);
+        String fqCommandName = qualifyActionValidatable(controller, actionName, commandObject);
+        start = metrics.record(fqCommandName, CONFIGURATION, start);
+
+        MVCGroupPool.PooledGroup pooledGroup = pool.acquire(fqCommandName);
+        start = metrics.record(fqCommandName, ACQUIRE, start);
+        if (pooledGroup == null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Creating pooled MVC group for " + fqCommandName);
+            }
+            // the pooled group outlives this call, bind it to its own command object
+            long generation = pool.getGeneration();
+            CommandObject pooledCommandObject = (CommandObject) safeNewInstance(commandObject.getClass());
+            ScaffoldingContext scaffoldingContext = createScaffoldingContext(controller, actionName, pooledCommandObject);
+            start = metrics.record(fqCommandName, CONTEXT, start);
+            MVCGroup mvcGroup = mvcGroupConfiguration.create(fqCommandName + "-" + groupCounter.incrementAndGet(),
+                CollectionUtils.<String, Object>map()
+                    .e("scaffoldingContext", scaffoldingContext));
+            scaffoldingContext.setBinding(mvcGroup.getBuilder());
+            pooledGroup = new MVCGroupPool.PooledGroup(fqCommandName, mvcGroup, scaffoldingContext, pooledCommandObject, generation);
+        }
+        pooledGroup.reset(controller, commandObject);
+        start = metrics.record(fqCommandName, CREATE, start);
 
-        ScaffoldingContext scaffoldingContext = contexts.get(fqCommandName);
-        if (scaffoldingContext == null) {
-            scaffoldingContext = newScaffoldingContext();
-            scaffoldingContext.setActionName(actionName);
-            contexts.put(fqCommandName, scaffoldingContext);
+        GriffonControllerAction showAction = app.getActionManager().actionFor(pooledGroup.getGroup().getController(), "show");
+        if (showAction == null) {
+            pooledGroup.destroy();
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Missing action 'show' in controller " + mvcGroupConfiguration.getMembers().get(GriffonControllerClass.TYPE));
+            }
+            throw new MissingControllerActionException(controller.getClass(), actionName);
         }
+
+        try {
+            showAction.execute();
+            pooledGroup.copyTo(commandObject);
+            start = metrics.record(fqCommandName, SHOW, start);
+        } catch (RuntimeException e) {
+            pooledGroup.destroy();
+            throw e;
+        }
+        pool.release(pooledGroup);
+        metrics.record(fqCommandName, DESTROY, start);
+    }
+
+    /**
+     * Every display gets its own context, as a context holds the controller and
+     * validateable it scaffolds and is disposed once the display is done. Resolved
+     * templates are shared across contexts by {@code TemplateResolutionCache}.
+     */
+    private ScaffoldingContext createScaffoldingContext(GriffonController controller, String actionName, CommandObject commandObject) {
+        ScaffoldingContext scaffoldingContext = newScaffoldingContext();
+        scaffoldingContext.setActionName(actionName);
         scaffoldingContext.setController(controller);
         scaffoldingContext.setValidateable(commandObject);
-
         return scaffoldingContext;
     }
 
     private ScaffoldingContext newScaffoldingContext() {
-        String toolkitName = capitalize(Metadata.getCurrent().getApplicationToolkit());
-        String className = ScaffoldingContext.class.getPackage().getName() + "." + toolkitName + ScaffoldingContext.class.getSimpleName();
-        Class contextClass = safeLoadClass(className);
+        Class contextClass = scaffoldingContextClass;
+        if (contextClass == null) {
+            String toolkitName = capitalize(Metadata.getCurrent().getApplicationToolkit());
+            String className = ScaffoldingContext.class.getPackage().getName() + "." + toolkitName + ScaffoldingContext.class.getSimpleName();
+            contextClass = safeLoadClass(className);
+            scaffoldingContextClass = contextClass;
+        }
         return (ScaffoldingContext) safeNewInstance(contextClass);
     }
 
     private MVCGroupConfiguration fetchMVCGroupConfiguration(GriffonController controller, String actionName, CommandObject commandObject) {
         String fqCommandName = qualifyActionValidatable(controller, actionName, commandObject);
 
+        MVCGroupConfiguration mvcGroupConfiguration = configurations.get(fqCommandName);
+        if (mvcGroupConfiguration != null) return mvcGroupConfiguration;
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("Searching MVCGroupConfiguration for " + fqCommandName);
         }
 
-        MVCGroupConfiguration mvcGroupConfiguration = null;
-        try {
-            mvcGroupConfiguration = app.getMvcGroupManager().findConfiguration(fqCommandName);
-        } catch (MVCGroupConfigurationException e) {
+        mvcGroupConfiguration = findConfiguration(fqCommandName);
+        if (mvcGroupConfiguration == null) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Resolving MVCGroupConfiguration for " + fqCommandName);
             }
             mvcGroupConfiguration = resolveMVCGroupConfiguration(controller, actionName, commandObject);
         }
+        configurations.put(fqCommandName, mvcGroupConfiguration);
         return mvcGroupConfiguration;
     }
 
+    // the group manager is not thread safe, prewarming reaches it from a background thread
+    private MVCGroupConfiguration findConfiguration(final String fqCommandName) {
+        final MVCGroupConfiguration[] mvcGroupConfiguration = new MVCGroupConfiguration[1];
+        UIThreadManager.getInstance().executeSync(new Runnable() {
+            public void run() {
+                try {
+                    mvcGroupConfiguration[0] = app.getMvcGroupManager().findConfiguration(fqCommandName);
+                } catch (MVCGroupConfigurationException e) {
+                    // not configured explicitly
+                }
+            }
+        });
+        return mvcGroupConfiguration[0];
+    }
+
     private MVCGroupConfiguration resolveMVCGroupConfiguration(GriffonController controller, String actionName, CommandObject commandObject) {
-        String mtemplate = resolveMember(controller, actionName, commandObject, GriffonModelClass.TRAILING);
-        String vtemplate = resolveMember(controller, actionName, commandObject, GriffonViewClass.TRAILING);
-        String ctemplate = resolveMember(controller, actionName, commandObject, GriffonControllerClass.TRAILING);
+        final String fqCommandName = qualifyActionValidatable(controller, actionName, commandObject);
+        final MVCMembers mvcMembers = resolveMembers(controller, actionName, commandObject);
+
+        final MVCGroupConfiguration[] mvcGroupConfiguration = new MVCGroupConfiguration[1];
+        UIThreadManager.getInstance().executeSync(new Runnable() {
+            public void run() {
+                mvcGroupConfiguration[0] = app.getMvcGroupManager().newMVCGroupConfiguration(fqCommandName,
+                    CollectionUtils.<String, String>map()
+                        .e(GriffonModelClass.TYPE, mvcMembers.model)
+                        .e(GriffonViewClass.TYPE, mvcMembers.view)
+                        .e(GriffonControllerClass.TYPE, mvcMembers.controller),
+                    Collections.<String, Object>emptyMap());
+                app.getMvcGroupManager().addConfiguration(mvcGroupConfiguration[0]);
+            }
+        });
+        return mvcGroupConfiguration[0];
+    }
 
+    private MVCMembers resolveMembers(GriffonController controller, String actionName, CommandObject commandObject) {
         String fqCommandName = qualifyActionValidatable(controller, actionName, commandObject);
-        MVCGroupConfiguration mvcGroupConfiguration = app.getMvcGroupManager().newMVCGroupConfiguration(fqCommandName,
-            CollectionUtils.<String, String>map()
-                .e(GriffonModelClass.TYPE, mtemplate)
-                .e(GriffonViewClass.TYPE, vtemplate)
-                .e(GriffonControllerClass.TYPE, ctemplate),
-            Collections.<String, Object>emptyMap());
-        app.getMvcGroupManager().addConfiguration(mvcGroupConfiguration);
-        return mvcGroupConfiguration;
+
+        MVCMembers mvcMembers = members.get(fqCommandName);
+        if (mvcMembers == null) {
+            try {
+                mvcMembers = new MVCMembers(
+                    resolveMember(controller, actionName, commandObject, GriffonModelClass.TRAILING),
+                    resolveMember(controller, actionName, commandObject, GriffonViewClass.TRAILING),
+                    resolveMember(controller, actionName, commandObject, GriffonControllerClass.TRAILING));
+            } catch (IllegalArgumentException e) {
+                mvcMembers = new MVCMembers(e.getMessage());
+            }
+            members.put(fqCommandName, mvcMembers);
+        }
+
+        if (mvcMembers.failure != null) {
+            throw new IllegalArgumentException(mvcMembers.failure);
+        }
+        return mvcMembers;
     }
 
     private String resolveMember(GriffonController controller, String actionName, CommandObject commandObject, String suffix) {
+        ScaffoldingTracer tracer = ScaffoldingTracing.TRACER;
+        Object trace = tracer.beginMemberResolution();
         if (LOG.isDebugEnabled()) {
             LOG.debug("  Resolving " + suffix + " member for " + qualifyActionValidatable(controller, actionName, commandObject));
         }
 
-        for (String code : mvcMemberCodes(controller, actionName, commandObject, suffix)) {
+        String[] codes = mvcMemberCodes(controller, actionName, commandObject, suffix);
+        for (String code : codes) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("    Resolving template: " + code);
             }
             Class memberClass = safeLoadClass(code);
-            if (memberClass != null) return memberClass.getName();
+            if (memberClass != null) {
+                if (trace != null) {
+                    tracer.endMemberResolution(trace, qualifyActionValidatable(controller, actionName, commandObject), suffix, codes.length, memberClass.getName());
+                }
+                return memberClass.getName();
+            }
+        }
+
+        if (trace != null) {
+            tracer.endMemberResolution(trace, qualifyActionValidatable(controller, actionName, commandObject), suffix, codes.length, null);
         }
 
         if (LOG.isWarnEnabled()) {
@@ -151,4 +388,25 @@ public class CommandObjectDisplayHandler implements ApplicationHandler {
 
         throw new IllegalArgumentException("Could not resolve " + suffix + " member for " + qualifyActionValidatable(controller, actionName, commandObject));
     }
+
+    private static final class MVCMembers {
+        private final String model;
+        private final String view;
+        private final String controller;
+        private final String failure;
+
+        private MVCMembers(String model, String view, String controller) {
+            this.model = model;
+            this.view = view;
+            this.controller = controller;
+            this.failure = null;
+        }
+
+        private MVCMembers(String failure) {
+            this.model = null;
+            this.view = null;
+            this.controller = null;
+            this.failure = failure;
+        }
+    }
 }
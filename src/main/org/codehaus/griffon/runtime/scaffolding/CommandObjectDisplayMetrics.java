@@ -0,0 +1,285 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.griffon.runtime.scaffolding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static griffon.util.GriffonExceptionHandler.sanitize;
+
+/**
+ * Latency histograms of the phases of command object display, kept per qualified
+ * command name.<p>
+ * Histograms use power of two buckets of nanoseconds; percentiles are reported as the
+ * upper bound of the bucket they fall into. Recording is lock free and does nothing
+ * while metrics are disabled. Metrics are exposed through JMX as
+ * {@value #OBJECT_NAME} once {@link #register()} has been called.
+ *
+ * @author Andres Almiray
+ */
+public final class CommandObjectDisplayMetrics implements CommandObjectDisplayMetricsMBean {
+    private static final Logger LOG = LoggerFactory.getLogger(CommandObjectDisplayMetrics.class);
+    public static final String OBJECT_NAME = "griffon.plugins.scaffolding:type=CommandObjectDisplay";
+    private static final CommandObjectDisplayMetrics INSTANCE = new CommandObjectDisplayMetrics();
+
+    public static enum Phase {
+        /** MVC group configuration lookup */
+        CONFIGURATION,
+        /** pooled group acquisition, recorded when pooling is enabled */
+        ACQUIRE,
+        /** scaffolding context creation, recorded only for new groups when pooling is enabled */
+        CONTEXT,
+        /** MVC group creation, or pooled group reset */
+        CREATE,
+        /** execution of the {@code show} action */
+        SHOW,
+        /** MVC group destruction and context disposal, or pooled group release */
+        DESTROY
+    }
+
+    private final ConcurrentMap<String, LatencyHistogram[]> histograms = new ConcurrentHashMap<String, LatencyHistogram[]>();
+    private final Object LOCK = new Object[0];
+    private volatile boolean enabled;
+    private boolean registered;
+
+    public static CommandObjectDisplayMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private CommandObjectDisplayMetrics() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the start timestamp of a measurement, {@code 0} if metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time elapsed since {@code start} for the given phase and returns the
+     * current timestamp, which may be used as start of the next phase. Does nothing if
+     * {@code start} is {@code 0}.
+     */
+    public long record(String fqCommandName, Phase phase, long start) {
+        if (start == 0L || !enabled) return 0L;
+        long now = System.nanoTime();
+        histogramsOf(fqCommandName)[phase.ordinal()].record(now - start);
+        return now;
+    }
+
+    public LatencyHistogram getHistogram(String fqCommandName, Phase phase) {
+        LatencyHistogram[] phases = histograms.get(fqCommandName);
+        return phases != null ? phases[phase.ordinal()] : null;
+    }
+
+    public String[] getCommandNames() {
+        List<String> names = new ArrayList<String>(histograms.keySet());
+        Collections.sort(names);
+        return names.toArray(new String[names.size()]);
+    }
+
+    public String[] getSummary() {
+        List<String> lines = new ArrayList<String>();
+        for (String fqCommandName : getCommandNames()) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = getHistogram(fqCommandName, phase);
+                if (histogram == null || histogram.getCount() == 0) continue;
+                lines.add(fqCommandName + " " + phase +
+                    " count=" + histogram.getCount() +
+                    " mean=" + millis(histogram.getMeanNanos()) + "ms" +
+                    " p50=" + millis(histogram.getPercentileNanos(50d)) + "ms" +
+                    " p99=" + millis(histogram.getPercentileNanos(99d)) + "ms" +
+                    " max=" + millis(histogram.getMaxNanos()) + "ms");
+            }
+        }
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    public long count(String fqCommandName, String phase) {
+        LatencyHistogram histogram = getHistogram(fqCommandName, phaseOf(phase));
+        return histogram != null ? histogram.getCount() : 0L;
+    }
+
+    public double meanMillis(String fqCommandName, String phase) {
+        LatencyHistogram histogram = getHistogram(fqCommandName, phaseOf(phase));
+        return histogram != null ? millis(histogram.getMeanNanos()) : 0d;
+    }
+
+    public double maxMillis(String fqCommandName, String phase) {
+        LatencyHistogram histogram = getHistogram(fqCommandName, phaseOf(phase));
+        return histogram != null ? millis(histogram.getMaxNanos()) : 0d;
+    }
+
+    public double percentileMillis(String fqCommandName, String phase, double percentile) {
+        LatencyHistogram histogram = getHistogram(fqCommandName, phaseOf(phase));
+        return histogram != null ? millis(histogram.getPercentileNanos(percentile)) : 0d;
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    /**
+     * Registers this instance with the platform MBean server, unless it is already registered.
+     */
+    public void register() {
+        synchronized (LOCK) {
+            if (registered) return;
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (!server.isRegistered(name)) server.registerMBean(this, name);
+                registered = true;
+            } catch (Exception e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Could not register " + OBJECT_NAME, sanitize(e));
+                }
+            }
+        }
+    }
+
+    public void unregister() {
+        synchronized (LOCK) {
+            if (!registered) return;
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (server.isRegistered(name)) server.unregisterMBean(name);
+            } catch (Exception e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Could not unregister " + OBJECT_NAME, sanitize(e));
+                }
+            } finally {
+                registered = false;
+            }
+        }
+    }
+
+    private LatencyHistogram[] histogramsOf(String fqCommandName) {
+        LatencyHistogram[] phases = histograms.get(fqCommandName);
+        if (phases == null) {
+            LatencyHistogram[] newPhases = new LatencyHistogram[Phase.values().length];
+            for (int i = 0; i < newPhases.length; i++) {
+                newPhases[i] = new LatencyHistogram();
+            }
+            phases = histograms.putIfAbsent(fqCommandName, newPhases);
+            if (phases == null) phases = newPhases;
+        }
+        return phases;
+    }
+
+    private static Phase phaseOf(String phase) {
+        return Phase.valueOf(phase.trim().toUpperCase(Locale.ENGLISH));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1000000d;
+    }
+
+    public static final class LatencyHistogram {
+        private static final int BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            if (nanos < 0L) nanos = 0L;
+            buckets.incrementAndGet(bucketOf(nanos));
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getMeanNanos() {
+            long n = count.get();
+            return n == 0L ? 0L : totalNanos.get() / n;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Returns the upper bound, in nanoseconds, of the bucket holding the given percentile.
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] snapshot = getBuckets();
+            long total = 0L;
+            for (long bucket : snapshot) total += bucket;
+            if (total == 0L) return 0L;
+
+            long rank = (long) Math.ceil(total * Math.min(Math.max(percentile, 0d), 100d) / 100d);
+            long seen = 0L;
+            for (int i = 0; i < snapshot.length; i++) {
+                seen += snapshot[i];
+                if (seen >= rank && snapshot[i] > 0L) return Math.min(upperBoundOf(i), maxNanos.get());
+            }
+            return maxNanos.get();
+        }
+
+        /**
+         * Returns the number of samples per bucket. Bucket {@code i} holds samples
+         * smaller than {@code 2^i} nanoseconds and not smaller than {@code 2^(i-1)}.
+         */
+        public long[] getBuckets() {
+            long[] snapshot = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = buckets.get(i);
+            }
+            return snapshot;
+        }
+
+        private static int bucketOf(long nanos) {
+            return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+        }
+
+        private static long upperBoundOf(int bucket) {
+            return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1L;
+        }
+    }
+}
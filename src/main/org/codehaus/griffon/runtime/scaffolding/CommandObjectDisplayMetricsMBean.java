@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.griffon.runtime.scaffolding;
+
+/**
+ * JMX view of {@code CommandObjectDisplayMetrics}.<p>
+ * Phase names are those of {@code CommandObjectDisplayMetrics.Phase}, case insensitive.
+ *
+ * @author Andres Almiray
+ */
+public interface CommandObjectDisplayMetricsMBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    String[] getCommandNames();
+
+    String[] getSummary();
+
+    long count(String fqCommandName, String phase);
+
+    double meanMillis(String fqCommandName, String phase);
+
+    double maxMillis(String fqCommandName, String phase);
+
+    double percentileMillis(String fqCommandName, String phase, double percentile);
+
+    void reset();
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.griffon.runtime.scaffolding;
+
+import griffon.core.GriffonController;
+import griffon.core.MVCGroup;
+import griffon.core.UIThreadManager;
+import griffon.plugins.scaffolding.CommandObject;
+import griffon.plugins.scaffolding.ScaffoldingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.beans.PropertyDescriptor;
+import java.util.*;
+
+import static griffon.util.GriffonClassUtils.getPropertyDescriptors;
+import static griffon.util.GriffonExceptionHandler.sanitize;
+import static org.codehaus.groovy.runtime.InvokerHelper.getProperty;
+import static org.codehaus.groovy.runtime.InvokerHelper.setProperty;
+
+/**
+ * Keeps a bounded number of idle MVC groups per qualified command name so that
+ * command object dialogs can be displayed again without rebuilding their views.<p>
+ * Each pooled group owns its {@code ScaffoldingContext} and the command object
+ * instance its view was bound to. Every readable and writable property of the
+ * caller's command object is copied into the pooled one before the group is
+ * displayed and back again afterwards, so pooled displays see the same state as
+ * unpooled ones.<p>
+ * {@link #clear()} destroys idle groups and starts a new pool generation; groups
+ * in use at that time are destroyed instead of being pooled when released, as
+ * their views may have been built from outdated settings.<p>
+ * Groups that stay idle longer than the configured timeout are destroyed. Expired
+ * groups are looked for whenever a group is acquired or released and by a
+ * background timer running every half timeout (once per second at most) while
+ * the pool holds idle groups; expired groups are destroyed in the UI thread.
+ * {@link #shutdown()} stops the timer and destroys all idle groups.
+ *
+ * @author Andres Almiray
+ */
+public class MVCGroupPool {
+    private static final Logger LOG = LoggerFactory.getLogger(MVCGroupPool.class);
+
+    private final Object LOCK = new Object[0];
+    private final int maxIdlePerCommand;
+    private final long idleTimeout;
+    private final Map<String, LinkedList<PooledGroup>> idleGroups = new LinkedHashMap<String, LinkedList<PooledGroup>>();
+    private Timer evictionTimer;
+    private boolean shutdown;
+    private volatile long generation;
+
+    public MVCGroupPool(int maxIdlePerCommand, long idleTimeout) {
+        this.maxIdlePerCommand = maxIdlePerCommand;
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getMaxIdlePerCommand() {
+        return maxIdlePerCommand;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Returns the current pool generation. Read it before building a group and
+     * hand it to the group, groups from an earlier generation are not pooled.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Takes an idle group out of the pool, returns {@code null} if there is none.
+     */
+    public PooledGroup acquire(String fqCommandName) {
+        List<PooledGroup> evicted = new ArrayList<PooledGroup>();
+        PooledGroup pooledGroup = null;
+        synchronized (LOCK) {
+            collectExpired(System.currentTimeMillis(), evicted);
+            LinkedList<PooledGroup> groups = idleGroups.get(fqCommandName);
+            if (groups != null && !groups.isEmpty()) {
+                pooledGroup = groups.removeFirst();
+            }
+        }
+        destroy(evicted);
+        return pooledGroup;
+    }
+
+    /**
+     * Puts a group back into the pool. The group is destroyed right away if the
+     * pool for its command is already full or the group belongs to an earlier
+     * generation.
+     */
+    public void release(PooledGroup pooledGroup) {
+        List<PooledGroup> evicted = new ArrayList<PooledGroup>();
+        long now = System.currentTimeMillis();
+        pooledGroup.lastUsed = now;
+        synchronized (LOCK) {
+            collectExpired(now, evicted);
+            LinkedList<PooledGroup> groups = idleGroups.get(pooledGroup.fqCommandName);
+            if (groups == null) {
+                groups = new LinkedList<PooledGroup>();
+                idleGroups.put(pooledGroup.fqCommandName, groups);
+            }
+            if (!shutdown && pooledGroup.generation == generation && groups.size() < maxIdlePerCommand) {
+                groups.addFirst(pooledGroup);
+                scheduleEviction();
+            } else {
+                evicted.add(pooledGroup);
+            }
+        }
+        destroy(evicted);
+    }
+
+    /**
+     * Destroys all idle groups and starts a new generation, groups in use are
+     * destroyed once released.
+     */
+    public void clear() {
+        List<PooledGroup> evicted = new ArrayList<PooledGroup>();
+        synchronized (LOCK) {
+            generation++;
+            for (LinkedList<PooledGroup> groups : idleGroups.values()) {
+                evicted.addAll(groups);
+            }
+            idleGroups.clear();
+        }
+        destroy(evicted);
+    }
+
+    /**
+     * Stops the eviction timer and destroys all idle groups. Groups released
+     * afterwards are destroyed right away.
+     */
+    public void shutdown() {
+        synchronized (LOCK) {
+            shutdown = true;
+            if (evictionTimer != null) {
+                evictionTimer.cancel();
+                evictionTimer = null;
+            }
+        }
+        clear();
+    }
+
+    private void scheduleEviction() {
+        if (evictionTimer != null) return;
+        long period = Math.max(idleTimeout / 2, 1000L);
+        evictionTimer = new Timer("scaffolding-pool-eviction", true);
+        evictionTimer.schedule(new EvictionTask(), period, period);
+    }
+
+    private void evictExpired() {
+        final List<PooledGroup> evicted = new ArrayList<PooledGroup>();
+        synchronized (LOCK) {
+            collectExpired(System.currentTimeMillis(), evicted);
+            if (idleGroups.isEmpty() && evictionTimer != null) {
+                evictionTimer.cancel();
+                evictionTimer = null;
+            }
+        }
+        if (evicted.isEmpty()) return;
+        UIThreadManager.getInstance().executeAsync(new Runnable() {
+            public void run() {
+                destroy(evicted);
+            }
+        });
+    }
+
+    private void collectExpired(long now, List<PooledGroup> evicted) {
+        for (Iterator<LinkedList<PooledGroup>> it = idleGroups.values().iterator(); it.hasNext(); ) {
+            LinkedList<PooledGroup> groups = it.next();
+            for (Iterator<PooledGroup> git = groups.iterator(); git.hasNext(); ) {
+                PooledGroup pooledGroup = git.next();
+                if (now - pooledGroup.lastUsed > idleTimeout) {
+                    evicted.add(pooledGroup);
+                    git.remove();
+                }
+            }
+            if (groups.isEmpty()) it.remove();
+        }
+    }
+
+    private void destroy(List<PooledGroup> groups) {
+        for (PooledGroup pooledGroup : groups) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Evicting pooled MVC group " + pooledGroup.group.getMvcId());
+            }
+            pooledGroup.destroy();
+        }
+    }
+
+    private class EvictionTask extends TimerTask {
+        public void run() {
+            try {
+                evictExpired();
+            } catch (RuntimeException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("An error occurred while evicting idle pooled MVC groups", sanitize(e));
+                }
+            }
+        }
+    }
+
+    public static class PooledGroup {
+        private final String fqCommandName;
+        private final MVCGroup group;
+        private final ScaffoldingContext scaffoldingContext;
+        private final CommandObject commandObject;
+        private final long generation;
+        private final List<String> propertyNames;
+        private long lastUsed;
+
+        public PooledGroup(String fqCommandName, MVCGroup group, ScaffoldingContext scaffoldingContext, CommandObject commandObject, long generation) {
+            this.fqCommandName = fqCommandName;
+            this.group = group;
+            this.scaffoldingContext = scaffoldingContext;
+            this.commandObject = commandObject;
+            this.generation = generation;
+            this.propertyNames = copyablePropertyNames(commandObject.getClass());
+        }
+
+        public String getFqCommandName() {
+            return fqCommandName;
+        }
+
+        public MVCGroup getGroup() {
+            return group;
+        }
+
+        public ScaffoldingContext getScaffoldingContext() {
+            return scaffoldingContext;
+        }
+
+        /**
+         * Prepares the group for a new use: the pooled command object receives
+         * the state of the given command object and its errors are cleared.
+         */
+        public void reset(GriffonController controller, CommandObject source) {
+            scaffoldingContext.setController(controller);
+            commandObject.getErrors().clearAllErrors();
+            copyProperties(source, commandObject);
+        }
+
+        /**
+         * Copies the state of the pooled command object, errors included, into
+         * the given command object.
+         */
+        public void copyTo(CommandObject target) {
+            copyProperties(commandObject, target);
+            target.getErrors().clearAllErrors();
+            target.getErrors().addAllErrors(commandObject.getErrors());
+        }
+
+        public void destroy() {
+            try {
+                group.destroy();
+            } catch (RuntimeException e) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("An error occurred while destroying pooled MVC group " + group.getMvcId(), sanitize(e));
+                }
+            } finally {
+                scaffoldingContext.dispose();
+            }
+        }
+
+        private void copyProperties(CommandObject source, CommandObject target) {
+            for (String propertyName : propertyNames) {
+                setProperty(target, propertyName, getProperty(source, propertyName));
+            }
+        }
+
+        // errors are copied separately, the meta class belongs to the instance
+        private static List<String> copyablePropertyNames(Class commandObjectClass) {
+            List<String> names = new ArrayList<String>();
+            for (PropertyDescriptor descriptor : getPropertyDescriptors(commandObjectClass)) {
+                String name = descriptor.getName();
+                if (descriptor.getReadMethod() == null || descriptor.getWriteMethod() == null) continue;
+                if ("errors".equals(name) || "metaClass".equals(name)) continue;
+                names.add(name);
+            }
+            return Collections.unmodifiableList(names);
+        }
+    }
+}
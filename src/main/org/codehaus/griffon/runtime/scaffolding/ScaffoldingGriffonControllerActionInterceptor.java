@@ -18,9 +18,12 @@ package org.codehaus.griffon.runtime.scaffolding;
 
 import griffon.core.GriffonApplication;
 import griffon.core.GriffonController;
+import griffon.core.UIThreadManager;
 import griffon.core.controller.MissingControllerActionException;
 import griffon.plugins.scaffolding.CommandObject;
 import griffon.util.GriffonClassUtils;
+import griffon.util.RunnableWithArgs;
+import griffon.util.RunnableWithArgsClosure;
 import groovy.lang.Closure;
 import org.codehaus.griffon.runtime.core.controller.AbstractGriffonControllerActionInterceptor;
 import org.slf4j.Logger;
@@ -29,24 +32,60 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
+import static griffon.util.ConfigUtils.getConfigValueAsBoolean;
 import static griffon.util.GriffonExceptionHandler.sanitize;
 import static org.codehaus.griffon.runtime.util.GriffonApplicationHelper.safeNewInstance;
 
 /**
+ * Instantiates and displays command objects for actions that take one as their sole argument.<p>
+ * Scaffolding metadata of every registered command object action can be resolved on a
+ * background thread once the application is ready by setting {@code scaffolding.prewarm.enabled}
+ * to {@code true}. Actions registered after that point are prewarmed as soon as they are configured.
+ * Every action is prewarmed once, against whichever instance of its controller is alive when
+ * the prewarm runs.
+ *
  * @author Andres Almiray
  */
 public class ScaffoldingGriffonControllerActionInterceptor extends AbstractGriffonControllerActionInterceptor {
+    private static final String KEY_PREWARM_ENABLED = "scaffolding.prewarm.enabled";
     private final Logger LOG = LoggerFactory.getLogger(ScaffoldingGriffonControllerActionInterceptor.class);
     private final Map<String, Class> commandObjectMappings = new ConcurrentHashMap<String, Class>();
     private CommandObjectDisplayHandler commandObjectDisplayHandler;
 
+    private final Object LOCK = new Object[0];
+    private final List<Runnable> pendingPrewarms = new ArrayList<Runnable>();
+    private final Set<String> prewarmedActions = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private boolean prewarmEnabled;
+    private boolean ready;
+    private ExecutorService prewarmExecutor;
+
     @Override
     public void setApp(GriffonApplication app) {
         super.setApp(app);
         commandObjectDisplayHandler = new CommandObjectDisplayHandler(app);
+        prewarmEnabled = getConfigValueAsBoolean(app.getConfig(), KEY_PREWARM_ENABLED, false);
+        if (prewarmEnabled) {
+            app.addApplicationEventListener("ReadyEnd", new RunnableWithArgsClosure(new RunnableWithArgs() {
+                public void run(Object[] args) {
+                    startPrewarming();
+                }
+            }));
+            app.addApplicationEventListener("ShutdownStart", new RunnableWithArgsClosure(new RunnableWithArgs() {
+                public void run(Object[] args) {
+                    stopPrewarming();
+                }
+            }));
+        }
     }
 
     public void configure(GriffonController controller, String actionName, Method method) {
@@ -102,6 +141,88 @@ public class ScaffoldingGriffonControllerActionInterceptor extends AbstractGriff
                 LOG.debug("Action " + fqActionName + " requires a command object of type " + parameterTypes[0].getName());
             }
             commandObjectMappings.put(fqActionName, parameterTypes[0]);
+            if (prewarmEnabled && prewarmedActions.add(fqActionName)) {
+                schedulePrewarm(controller.getClass(), fqActionName, actionName, parameterTypes[0]);
+            }
+        }
+    }
+
+    private void schedulePrewarm(final Class controllerClass, final String fqActionName, final String actionName, final Class commandObjectClass) {
+        // only the controller class is kept, instances may be destroyed before the prewarm runs
+        Runnable prewarm = new Runnable() {
+            public void run() {
+                GriffonController controller = findController(controllerClass);
+                if (controller == null) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Skipping prewarm of action " + fqActionName + " as no instance of " + controllerClass.getName() + " is alive");
+                    }
+                    // the next instance to be configured schedules it again
+                    prewarmedActions.remove(fqActionName);
+                    return;
+                }
+                try {
+                    CommandObject commandObject = (CommandObject) safeNewInstance(commandObjectClass);
+                    commandObjectDisplayHandler.prewarm(controller, actionName, commandObject);
+                } catch (RuntimeException e) {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("An error occurred while prewarming action " + fqActionName, sanitize(e));
+                    }
+                }
+            }
+        };
+
+        synchronized (LOCK) {
+            if (!ready) {
+                pendingPrewarms.add(prewarm);
+                return;
+            }
+            if (prewarmExecutor != null) prewarmExecutor.submit(prewarm);
+        }
+    }
+
+    private GriffonController findController(final Class controllerClass) {
+        final GriffonController[] controller = new GriffonController[1];
+        UIThreadManager.getInstance().executeSync(new Runnable() {
+            public void run() {
+                for (GriffonController candidate : getApp().getControllers().values()) {
+                    if (candidate.getClass() == controllerClass) {
+                        controller[0] = candidate;
+                        return;
+                    }
+                }
+            }
+        });
+        return controller[0];
+    }
+
+    private void startPrewarming() {
+        synchronized (LOCK) {
+            ready = true;
+            prewarmExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "scaffolding-prewarm");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Prewarming scaffolding metadata for " + pendingPrewarms.size() + " actions");
+            }
+            for (Runnable prewarm : pendingPrewarms) {
+                prewarmExecutor.submit(prewarm);
+            }
+            pendingPrewarms.clear();
+        }
+    }
+
+    private void stopPrewarming() {
+        synchronized (LOCK) {
+            pendingPrewarms.clear();
+            if (prewarmExecutor != null) {
+                prewarmExecutor.shutdownNow();
+                prewarmExecutor = null;
+            }
         }
     }
 }
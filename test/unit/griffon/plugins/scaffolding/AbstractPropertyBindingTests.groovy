@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding
+
+import griffon.test.GriffonUnitTestCase
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Andres Almiray
+ */
+class AbstractPropertyBindingTests extends GriffonUnitTestCase {
+    void testReentrantUpdateIsTurnedAway() {
+        RecordingPropertyBinding binding = new RecordingPropertyBinding()
+        binding.onTargetUpdate = {
+            binding.onTargetUpdate = {}
+            binding.updateTarget()
+        }
+
+        binding.updateTarget()
+
+        assert binding.sourceReads.size() == 1
+        assert binding.targetValues == ['value']
+
+        // the guard was released by the outer update
+        binding.updateTarget()
+        assert binding.sourceReads.size() == 2
+    }
+
+    void testContendedUpdateWaitsThenProceeds() {
+        RecordingPropertyBinding binding = new RecordingPropertyBinding()
+        CountDownLatch updating = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+        binding.onTargetUpdate = {
+            if (Thread.currentThread().name == 'first') {
+                updating.countDown()
+                release.await(5, TimeUnit.SECONDS)
+            }
+        }
+
+        Thread first = new Thread({ binding.updateTarget() } as Runnable, 'first')
+        Thread second = new Thread({ binding.updateTarget() } as Runnable, 'second')
+        first.start()
+        assert updating.await(5, TimeUnit.SECONDS)
+        second.start()
+
+        long deadline = System.currentTimeMillis() + 5000L
+        while (second.state != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L)
+        }
+        assert second.state == Thread.State.WAITING
+        assert binding.sourceReads == ['first']
+
+        release.countDown()
+        first.join(5000L)
+        second.join(5000L)
+
+        assert !second.alive
+        assert binding.sourceReads == ['first', 'second']
+        assert binding.targetValues == ['value', 'value']
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding
+
+import griffon.plugins.scaffolding.atoms.*
+import griffon.test.GriffonUnitTestCase
+
+import java.sql.Timestamp
+
+/**
+ * @author Andres Almiray
+ */
+class AtomicValueRegistryTests extends GriffonUnitTestCase {
+    void testRegisteredTypesResolveToTheirFactory() {
+        assert AtomicValueRegistry.resolveFactory(Integer).atomicValueType == IntegerValue
+        assert AtomicValueRegistry.resolveFactory(Integer.TYPE).atomicValueType == IntegerValue
+    }
+
+    void testSubclassesResolveToTheFactoryOfTheirSuperclass() {
+        assert AtomicValueRegistry.resolveFactory(Timestamp).atomicValueType == DateValue
+        assert AtomicValueRegistry.resolveFactory(GregorianCalendar).atomicValueType == CalendarValue
+    }
+
+    void testImplementationsResolveToTheFactoryOfTheirInterface() {
+        AtomicValueRegistry.registerAtomicValue(Shape, ShapeValue)
+
+        assert AtomicValueRegistry.resolveFactory(Circle).atomicValueType == ShapeValue
+        assert AtomicValueRegistry.resolveFactory(Square).atomicValueType == ShapeValue
+        assert AtomicValueRegistry.resolveFactory(Circle).create() instanceof ShapeValue
+    }
+
+    void testEnumsResolveToEnumValue() {
+        AtomicValueFactory factory = AtomicValueRegistry.resolveFactory(Planet)
+        assert factory.atomicValueType == EnumValue
+        assert factory.create().enumType == Planet
+
+        // constants with a body are instances of an anonymous subclass
+        assert Planet.EARTH.getClass() != Planet
+        assert AtomicValueRegistry.resolveFactory(Planet.EARTH.getClass()).create().enumType == Planet
+        assert AtomicValueRegistry.wrapValue(Planet.EARTH, Planet.EARTH.getClass()).value == Planet.EARTH
+    }
+
+    void testAnswersAreMemoized() {
+        assert AtomicValueRegistry.resolveFactory(Planet).is(AtomicValueRegistry.resolveFactory(Planet))
+        assert AtomicValueRegistry.resolveFactory(Timestamp).is(AtomicValueRegistry.resolveFactory(Timestamp))
+    }
+
+    void testRegistrationDiscardsMemoizedMisses() {
+        assert AtomicValueRegistry.resolveFactory(Unregistered) == null
+
+        AtomicValueRegistry.registerAtomicValue(Unregistered, ShapeValue)
+
+        assert AtomicValueRegistry.resolveFactory(Unregistered).atomicValueType == ShapeValue
+    }
+
+    void testAtomicValueTypesAreAnUnmodifiableLiveView() {
+        Map<Class, Class> types = AtomicValueRegistry.atomicValueTypes
+        assert types[Integer] == IntegerValue
+        assert !types.containsKey(LiveViewType)
+
+        AtomicValueRegistry.registerAtomicValue(LiveViewType, ShapeValue)
+
+        assert types[LiveViewType] == ShapeValue
+        shouldFail(UnsupportedOperationException) {
+            types.put(Integer, ShapeValue)
+        }
+        shouldFail(UnsupportedOperationException) {
+            types.remove(Integer)
+        }
+        assert types[Integer] == IntegerValue
+    }
+}
+
+interface Shape {
+}
+
+interface RoundShape extends Shape {
+}
+
+class Circle implements RoundShape {
+}
+
+abstract class Polygon implements Shape {
+}
+
+class Square extends Polygon {
+}
+
+class Unregistered {
+}
+
+class LiveViewType {
+}
+
+class ShapeValue extends StringValue {
+}
+
+enum Planet {
+    MERCURY,
+    EARTH {
+        String toString() { 'home' }
+    }
+}
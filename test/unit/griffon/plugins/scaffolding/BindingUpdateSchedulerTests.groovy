@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding
+
+import griffon.core.UIThreadHandler
+import griffon.core.UIThreadManager
+import griffon.test.GriffonUnitTestCase
+
+/**
+ * @author Andres Almiray
+ */
+class BindingUpdateSchedulerTests extends GriffonUnitTestCase {
+    private final BindingUpdateScheduler scheduler = BindingUpdateScheduler.getInstance()
+    private final List<Runnable> uiTasks = []
+    private UIThreadHandler uiThreadHandler
+
+    protected void setUp() {
+        super.setUp()
+        uiThreadHandler = UIThreadManager.instance.getUIThreadHandler()
+        UIThreadManager.instance.setUIThreadHandler([
+            isUIThread: { -> true },
+            executeAsync: { Runnable task -> uiTasks << task },
+            executeSync: { Runnable task -> task.run() },
+            executeOutside: { Runnable task -> task.run() }
+        ] as UIThreadHandler)
+    }
+
+    protected void tearDown() {
+        try {
+            runUITasks()
+        } catch (RuntimeException e) {
+            // leftovers of a failed test
+        }
+        UIThreadManager.instance.setUIThreadHandler(uiThreadHandler)
+        super.tearDown()
+    }
+
+    void testOnlyTheLatestValuePerBindingIsApplied() {
+        RecordingPropertyBinding first = new RecordingPropertyBinding()
+        RecordingPropertyBinding second = new RecordingPropertyBinding()
+
+        scheduler.schedule(first, 'a')
+        scheduler.schedule(second, 'x')
+        scheduler.schedule(first, 'b')
+
+        assert uiTasks.size() == 1
+        assert scheduler.pendingCount == 2
+        runUITasks()
+        assert first.sourceValues == ['b']
+        assert second.sourceValues == ['x']
+        assert scheduler.pendingCount == 0
+    }
+
+    void testUpdatesPostedAfterAFlushScheduleAnotherOne() {
+        RecordingPropertyBinding binding = new RecordingPropertyBinding()
+
+        scheduler.schedule(binding, 'a')
+        runUITasks()
+        scheduler.schedule(binding, 'b')
+
+        assert uiTasks.size() == 1
+        runUITasks()
+        assert binding.sourceValues == ['a', 'b']
+    }
+
+    void testDisposedBindingsAreNotUpdated() {
+        RecordingPropertyBinding disposed = new RecordingPropertyBinding()
+        RecordingPropertyBinding live = new RecordingPropertyBinding()
+
+        scheduler.schedule(disposed, 'a')
+        scheduler.schedule(live, 'x')
+        disposed.dispose()
+
+        assert scheduler.pendingCount == 1
+        runUITasks()
+        assert disposed.sourceValues == []
+        assert live.sourceValues == ['x']
+    }
+
+    void testFirstFailureIsRethrownOnceEveryValueIsApplied() {
+        RuntimeException firstFailure = new IllegalStateException('first')
+        RecordingPropertyBinding failing = new RecordingPropertyBinding(sourceFailure: firstFailure)
+        RecordingPropertyBinding live = new RecordingPropertyBinding()
+        RecordingPropertyBinding alsoFailing = new RecordingPropertyBinding(sourceFailure: new IllegalStateException('second'))
+        RecordingPropertyBinding last = new RecordingPropertyBinding()
+
+        scheduler.schedule(failing, 'a')
+        scheduler.schedule(live, 'b')
+        scheduler.schedule(alsoFailing, 'c')
+        scheduler.schedule(last, 'd')
+
+        Runnable flush = uiTasks.remove(0)
+        try {
+            flush.run()
+            fail('the failure should have been rethrown')
+        } catch (IllegalStateException e) {
+            assert e.is(firstFailure)
+        }
+        assert live.sourceValues == ['b']
+        assert last.sourceValues == ['d']
+        assert scheduler.pendingCount == 0
+    }
+
+    private void runUITasks() {
+        while (uiTasks) {
+            uiTasks.remove(0).run()
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding
+
+import griffon.core.resources.editors.ValueConversionException
+import griffon.test.GriffonUnitTestCase
+
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @author Andres Almiray
+ */
+class ConverterRegistryTests extends GriffonUnitTestCase {
+    void testAssignableTypesConvertToThemselves() {
+        Integer value = 42
+        assert ConverterRegistry.findConverter(Integer, Number).convert(value).is(value)
+    }
+
+    void testPrimitiveTargetIsTreatedAsItsWrapper() {
+        assert ConverterRegistry.findConverter(String, Integer.TYPE).convert('42') == 42
+    }
+
+    void testLookupWalksSuperclasses() {
+        assert ConverterRegistry.findConverter(AtomicInteger, Long).convert(new AtomicInteger(7)) == 7L
+    }
+
+    void testLookupWalksInterfaces() {
+        assert ConverterRegistry.findConverter(StringBuilder, Integer).convert(new StringBuilder('42')) == 42
+    }
+
+    void testLookupsAreMemoized() {
+        assert ConverterRegistry.findConverter(StringBuilder, Long).is(ConverterRegistry.findConverter(StringBuilder, Long))
+    }
+
+    void testRegistrationDiscardsMemoizedMisses() {
+        assert ConverterRegistry.findConverter(Celsius, Fahrenheit) == null
+
+        ConverterRegistry.registerConverter(new CelsiusToFahrenheitConverter())
+
+        assert ConverterRegistry.findConverter(Celsius, Fahrenheit).convert(new Celsius(100)).degrees == 212
+        assert ConverterRegistry.findConverter(ColdCelsius, Fahrenheit).convert(new ColdCelsius(0)).degrees == 32
+    }
+
+    void testConvertersAreLoadedFromServiceDefinitions() {
+        File workDir = File.createTempFile('converter-registry', '')
+        workDir.delete()
+        try {
+            File services = new File(workDir, 'META-INF/services/' + Converter.name)
+            services.parentFile.mkdirs()
+            services.text = '# test converters\n\n' + KelvinToRankineConverter.name + '\n'
+            assert ConverterRegistry.findConverter(Kelvin, Rankine) == null
+
+            ConverterRegistry.initialize(new URLClassLoader([workDir.toURI().toURL()] as URL[], (ClassLoader) null))
+
+            assert ConverterRegistry.findConverter(Kelvin, Rankine).convert(new Kelvin(10)).degrees == 18
+        } finally {
+            workDir.deleteDir()
+        }
+    }
+}
+
+class Celsius {
+    final int degrees
+
+    Celsius(int degrees) {
+        this.degrees = degrees
+    }
+}
+
+class ColdCelsius extends Celsius {
+    ColdCelsius(int degrees) {
+        super(degrees)
+    }
+}
+
+class Fahrenheit {
+    final int degrees
+
+    Fahrenheit(int degrees) {
+        this.degrees = degrees
+    }
+}
+
+class CelsiusToFahrenheitConverter implements Converter<Celsius, Fahrenheit> {
+    Class<Celsius> getSourceType() { Celsius }
+
+    Class<Fahrenheit> getTargetType() { Fahrenheit }
+
+    Fahrenheit convert(Celsius value) throws ValueConversionException {
+        new Fahrenheit((int) (value.degrees * 9 / 5 + 32))
+    }
+}
+
+class Kelvin {
+    final int degrees
+
+    Kelvin(int degrees) {
+        this.degrees = degrees
+    }
+}
+
+class Rankine {
+    final int degrees
+
+    Rankine(int degrees) {
+        this.degrees = degrees
+    }
+}
+
+class KelvinToRankineConverter implements Converter<Kelvin, Rankine> {
+    Class<Kelvin> getSourceType() { Kelvin }
+
+    Class<Rankine> getTargetType() { Rankine }
+
+    Rankine convert(Kelvin value) throws ValueConversionException {
+        new Rankine((int) (value.degrees * 9 / 5))
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding
+
+import griffon.plugins.validation.constraints.ConstrainedProperty
+
+import java.beans.PropertyEditor
+
+/**
+ * Binding between in-memory values that records every access.
+ *
+ * @author Andres Almiray
+ */
+class RecordingPropertyBinding extends AbstractPropertyBinding {
+    final List<String> sourceReads = Collections.synchronizedList([])
+    final List<Object> sourceValues = Collections.synchronizedList([])
+    final List<Object> targetValues = Collections.synchronizedList([])
+    volatile Object sourceValue = 'value'
+    volatile RuntimeException sourceFailure
+    volatile Closure onTargetUpdate = {}
+
+    RecordingPropertyBinding() {
+        super(new ConstrainedProperty(RecordingPropertyBinding, 'value', String))
+    }
+
+    protected void bindSource() {
+    }
+
+    protected void bindTarget() {
+    }
+
+    protected Object getTargetPropertyValue() {
+        targetValues ? targetValues[-1] : null
+    }
+
+    protected void setTargetPropertyValue(Object value) {
+        targetValues << value
+        onTargetUpdate()
+    }
+
+    protected void setSourcePropertyValue(Object value) {
+        if (sourceFailure) throw sourceFailure
+        sourceValues << value
+    }
+
+    protected Object getSourcePropertyValue() {
+        sourceReads << Thread.currentThread().name
+        sourceValue
+    }
+
+    protected PropertyEditor resolveSourcePropertyEditor() {
+        null
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding
+
+import griffon.test.GriffonUnitTestCase
+
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+/**
+ * @author Andres Almiray
+ */
+class TemplateIndexTests extends GriffonUnitTestCase {
+    private File workDir
+
+    protected void setUp() {
+        super.setUp()
+        workDir = File.createTempFile('template-index', '')
+        workDir.delete()
+        workDir.mkdirs()
+    }
+
+    protected void tearDown() {
+        workDir.deleteDir()
+        TemplateIndex.initialize(new URLClassLoader(new URL[0], (ClassLoader) null))
+        super.tearDown()
+    }
+
+    void testUnlistedTemplateInIndexedPackageIsKnownMissing() {
+        initialize(indexedJar())
+
+        assert !TemplateIndex.isKnownMissing('com.acme.FooTemplate')
+        assert TemplateIndex.isKnownMissing('com.acme.BarTemplate')
+        assert !TemplateIndex.isKnownMissing('com.acme.Bar')
+        assert !TemplateIndex.isKnownMissing('com.other.BarTemplate')
+    }
+
+    void testJarWithoutDirectoryEntriesSplitsThePackage() {
+        File unindexed = jar('unindexed.jar', ['com/acme/BarTemplate.class': ''])
+        initialize(indexedJar(), unindexed)
+
+        assert !TemplateIndex.isKnownMissing('com.acme.BarTemplate')
+        assert !TemplateIndex.isKnownMissing('com.acme.BazTemplate')
+    }
+
+    void testJarReferencedFromManifestSplitsThePackage() {
+        jar('referenced.jar', ['com/acme/BarTemplate.class': ''])
+        File launcher = jar('launcher.jar', ['META-INF/MANIFEST.MF': 'Manifest-Version: 1.0\nClass-Path: referenced.jar\n'])
+        initialize(indexedJar(), launcher)
+
+        assert !TemplateIndex.isKnownMissing('com.acme.BarTemplate')
+    }
+
+    void testDirectoryRootSplitsThePackage() {
+        File classes = new File(workDir, 'classes')
+        new File(classes, 'com/acme').mkdirs()
+        new File(classes, 'com/acme/BarTemplate.class').text = ''
+        initialize(indexedJar(), classes)
+
+        assert !TemplateIndex.isKnownMissing('com.acme.BarTemplate')
+    }
+
+    void testIndexInClassesDirectoryIsTrusted() {
+        initialize(indexedDirectory())
+
+        assert !TemplateIndex.isKnownMissing('com.acme.FooTemplate')
+        assert TemplateIndex.isKnownMissing('com.acme.BarTemplate')
+    }
+
+    void testTemplateCompiledAfterDirectoryIndexIsNotMissing() {
+        File classes = indexedDirectory()
+        new File(classes, 'com/acme/BarTemplate.class').text = ''
+        initialize(classes)
+
+        assert TemplateIndex.isIndexed('com.acme.BarTemplate')
+        assert !TemplateIndex.isKnownMissing('com.acme.BarTemplate')
+        assert TemplateIndex.isKnownMissing('com.acme.BazTemplate')
+    }
+
+    void testUnrelatedJarKeepsThePackageCovered() {
+        File unrelated = jar('unrelated.jar', ['org/acme/Other.class': ''])
+        initialize(indexedJar(), unrelated)
+
+        assert TemplateIndex.isKnownMissing('com.acme.BarTemplate')
+    }
+
+    private void initialize(File... roots) {
+        URL[] urls = roots.collect { it.toURI().toURL() } as URL[]
+        TemplateIndex.initialize(new URLClassLoader(urls, (ClassLoader) null))
+    }
+
+    private File indexedJar() {
+        jar('indexed.jar', [
+            (TemplateIndex.INDEX_RESOURCE): 'com.acme.FooTemplate\n',
+            'com/acme/FooTemplate.class': ''
+        ])
+    }
+
+    private File indexedDirectory() {
+        File classes = new File(workDir, 'classes')
+        new File(classes, 'com/acme').mkdirs()
+        new File(classes, 'com/acme/FooTemplate.class').text = ''
+        File index = new File(classes, TemplateIndex.INDEX_RESOURCE)
+        index.parentFile.mkdirs()
+        index.text = 'com.acme.FooTemplate\n'
+        classes
+    }
+
+    // entries only, no directory entries
+    private File jar(String name, Map<String, String> entries) {
+        File file = new File(workDir, name)
+        file.withOutputStream { OutputStream out ->
+            ZipOutputStream zip = new ZipOutputStream(out)
+            entries.each { String path, String content ->
+                zip.putNextEntry(new ZipEntry(path))
+                zip.write(content.bytes)
+                zip.closeEntry()
+            }
+            zip.close()
+        }
+        file
+    }
+}
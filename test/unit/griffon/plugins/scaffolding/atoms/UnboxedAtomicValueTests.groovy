@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.atoms
+
+import griffon.test.GriffonUnitTestCase
+
+import java.beans.PropertyChangeEvent
+import java.beans.PropertyChangeListener
+
+/**
+ * @author Andres Almiray
+ */
+class UnboxedAtomicValueTests extends GriffonUnitTestCase {
+    void testTypedAccessors() {
+        UnboxedBooleanValue booleanValue = new UnboxedBooleanValue()
+        booleanValue.setBoolean(true)
+        assert booleanValue.getBoolean()
+        assert booleanValue.booleanValue() == Boolean.TRUE
+
+        UnboxedByteValue byteValue = new UnboxedByteValue()
+        byteValue.setByte((byte) 8)
+        assert byteValue.getByte() == (byte) 8
+        assert byteValue.byteValue() == Byte.valueOf((byte) 8)
+
+        UnboxedShortValue shortValue = new UnboxedShortValue()
+        shortValue.setShort((short) 16)
+        assert shortValue.getShort() == (short) 16
+        assert shortValue.shortValue() == Short.valueOf((short) 16)
+
+        UnboxedIntegerValue intValue = new UnboxedIntegerValue()
+        intValue.setInt(32)
+        assert intValue.getInt() == 32
+        assert intValue.intValue() == Integer.valueOf(32)
+        assert intValue.integerValue() == Integer.valueOf(32)
+
+        UnboxedLongValue longValue = new UnboxedLongValue()
+        longValue.setLong(64L)
+        assert longValue.getLong() == 64L
+        assert longValue.longValue() == Long.valueOf(64L)
+
+        UnboxedFloatValue floatValue = new UnboxedFloatValue()
+        floatValue.setFloat(1.5f)
+        assert floatValue.getFloat() == 1.5f
+        assert floatValue.floatValue() == Float.valueOf(1.5f)
+
+        UnboxedDoubleValue doubleValue = new UnboxedDoubleValue()
+        doubleValue.setDouble(2.5d)
+        assert doubleValue.getDouble() == 2.5d
+        assert doubleValue.doubleValue() == Double.valueOf(2.5d)
+    }
+
+    void testBoxedAccessorsAreNullUntilAValueIsSet() {
+        UnboxedIntegerValue value = new UnboxedIntegerValue()
+        assert value.isNull()
+        assert value.intValue() == null
+        assert value.integerValue() == null
+        assert value.getValue() == null
+
+        value.setInt(0)
+        assert !value.isNull()
+        assert value.intValue() == 0
+
+        value.setValue(null)
+        assert value.isNull()
+        assert value.intValue() == null
+    }
+
+    void testPrimitiveInstancesResetToTheDefaultValue() {
+        UnboxedLongValue value = new UnboxedLongValue(5L)
+        value.setPrimitive(true)
+        assert value.getValueType() == Long.TYPE
+
+        value.setValue(null)
+        assert !value.isNull()
+        assert value.getLong() == 0L
+        assert value.longValue() == 0L
+    }
+
+    void testTypedSettersNotifyChangesOnly() {
+        UnboxedIntegerValue value = new UnboxedIntegerValue()
+        List<PropertyChangeEvent> events = []
+        value.addPropertyChangeListener('value', { PropertyChangeEvent e -> events << e } as PropertyChangeListener)
+
+        value.setInt(0)
+        value.setInt(0)
+        value.setInt(1)
+        value.setValueQuietly(2)
+
+        assert events*.oldValue == [null, 0]
+        assert events*.newValue == [0, 1]
+        assert value.getInt() == 2
+    }
+
+    void testComparesByValueWithBoxedCounterparts() {
+        assert new UnboxedIntegerValue(3).compareTo(new IntegerValue(5)) < 0
+        assert new UnboxedIntegerValue(5).compareTo(new IntegerValue(5)) == 0
+        assert new UnboxedIntegerValue(7).compareTo(new IntegerValue(5)) > 0
+        assert new UnboxedBooleanValue(true).compareTo(new BooleanValue(false)) > 0
+        assert new UnboxedLongValue(5L).compareTo(new LongValue(5L)) == 0
+
+        UnboxedIntegerValue primitive = new UnboxedIntegerValue(5)
+        primitive.setPrimitive(true)
+        assert primitive.compareTo(new IntegerValue(5)) == 0
+        assert primitive.compareTo(new UnboxedIntegerValue(4)) > 0
+    }
+
+    void testDoesNotCompareWithOtherValueTypes() {
+        assert new UnboxedIntegerValue(5).compareTo(new UnboxedLongValue(5L)) == -1
+        assert new UnboxedIntegerValue(5).compareTo(new LongValue(5L)) == -1
+        assert new UnboxedIntegerValue(5).compareTo(null) == -1
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package griffon.plugins.scaffolding.converters
+
+import griffon.core.resources.editors.ValueConversionException
+import griffon.test.GriffonUnitTestCase
+
+/**
+ * @author Andres Almiray
+ */
+class CharSequenceToNumberConverterTests extends GriffonUnitTestCase {
+    void testPlainIntegralLiteralsAreConverted() {
+        assert new CharSequenceToNumberConverter(Integer).convert(' 42 ') == 42
+        assert new CharSequenceToNumberConverter(Integer).convert('-42') == -42
+        assert new CharSequenceToNumberConverter(Long).convert('9000000000') == 9000000000L
+        assert new CharSequenceToNumberConverter(Byte).convert('12') == (byte) 12
+        assert new CharSequenceToNumberConverter(BigInteger).convert('123456789012345678901234567890') == new BigInteger('123456789012345678901234567890')
+    }
+
+    void testPlainFractionalLiteralsAreConverted() {
+        assert new CharSequenceToNumberConverter(Double).convert('1.5') == 1.5d
+        assert new CharSequenceToNumberConverter(Float).convert('-.5') == -0.5f
+        assert new CharSequenceToNumberConverter(BigDecimal).convert('1.50') == new BigDecimal('1.50')
+    }
+
+    void testBlankTextConvertsToNull() {
+        assert new CharSequenceToNumberConverter(Integer).convert('  ') == null
+    }
+
+    void testOtherLiteralsAreLeftToTheEditor() {
+        ['1d', '1f', '1L', '+1', '1e3', '0x10', '0x1p3', 'NaN', 'Infinity', '-', '.', '1.5', '1,000'].each { String text ->
+            shouldFail(ValueConversionException) {
+                new CharSequenceToNumberConverter(Integer).convert(text)
+            }
+        }
+        ['1d', '1f', '+1.5', '1e3', '0x1p3', 'NaN', '-Infinity', '1.2.3'].each { String text ->
+            shouldFail(ValueConversionException) {
+                new CharSequenceToNumberConverter(Double).convert(text)
+            }
+        }
+    }
+
+    void testValuesOutOfRangeAreRejected() {
+        shouldFail(ValueConversionException) {
+            new CharSequenceToNumberConverter(Byte).convert('128')
+        }
+        shouldFail(ValueConversionException) {
+            new CharSequenceToNumberConverter(Float).convert('9' * 50)
+        }
+    }
+}
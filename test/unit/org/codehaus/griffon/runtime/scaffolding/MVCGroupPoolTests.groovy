@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.griffon.runtime.scaffolding
+
+import griffon.core.MVCGroup
+import griffon.plugins.scaffolding.ScaffoldingContext
+import griffon.test.GriffonUnitTestCase
+
+/**
+ * @author Andres Almiray
+ */
+class MVCGroupPoolTests extends GriffonUnitTestCase {
+    private static final String COMMAND = 'com.acme.LoginCommandObject'
+    private MVCGroupPool pool
+    private List<String> destroyed = []
+
+    protected void setUp() {
+        super.setUp()
+        pool = new MVCGroupPool(2, 60000L)
+    }
+
+    protected void tearDown() {
+        pool.shutdown()
+        super.tearDown()
+    }
+
+    void testReleasedGroupsAreReused() {
+        MVCGroupPool.PooledGroup pooledGroup = pooledGroup('first')
+        pool.release(pooledGroup)
+
+        assert pool.acquire(COMMAND).is(pooledGroup)
+        assert pool.acquire(COMMAND) == null
+        assert pool.acquire('com.acme.OtherCommandObject') == null
+        assert !destroyed
+    }
+
+    void testGroupsAboveTheCapAreDestroyed() {
+        pool.release(pooledGroup('first'))
+        pool.release(pooledGroup('second'))
+        pool.release(pooledGroup('third'))
+
+        assert destroyed == ['third']
+        assert pool.acquire(COMMAND).group.mvcId == 'second'
+        assert pool.acquire(COMMAND).group.mvcId == 'first'
+        assert pool.acquire(COMMAND) == null
+    }
+
+    void testClearDestroysIdleGroupsAndStartsANewGeneration() {
+        MVCGroupPool.PooledGroup inUse = pooledGroup('inUse')
+        pool.release(pooledGroup('idle'))
+
+        pool.clear()
+
+        assert destroyed == ['idle']
+        assert pool.generation == 1L
+        pool.release(inUse)
+        assert destroyed == ['idle', 'inUse']
+        assert pool.acquire(COMMAND) == null
+
+        MVCGroupPool.PooledGroup current = pooledGroup('current')
+        pool.release(current)
+        assert pool.acquire(COMMAND).is(current)
+    }
+
+    void testGroupsReleasedAfterShutdownAreDestroyed() {
+        pool.release(pooledGroup('idle'))
+        pool.shutdown()
+        pool.release(pooledGroup('late'))
+
+        assert destroyed == ['idle', 'late']
+        assert pool.acquire(COMMAND) == null
+    }
+
+    void testExpiredGroupsAreDestroyedOnAcquire() {
+        pool = new MVCGroupPool(2, 50L)
+        pool.release(pooledGroup('expired'))
+
+        Thread.sleep(100L)
+
+        assert pool.acquire(COMMAND) == null
+        assert destroyed == ['expired']
+    }
+
+    void testDestroyDisposesTheScaffoldingContext() {
+        PoolTestScaffoldingContext scaffoldingContext = new PoolTestScaffoldingContext()
+        new MVCGroupPool.PooledGroup(COMMAND, mvcGroup('group'), scaffoldingContext, new PoolTestCommandObject(), 0L).destroy()
+
+        assert destroyed == ['group']
+        assert scaffoldingContext.disposed
+    }
+
+    void testCommandObjectStateRoundTrips() {
+        PoolTestCommandObject pooled = new PoolTestCommandObject(username: 'stale', age: 1)
+        pooled.errors.reject('stale.error')
+        MVCGroupPool.PooledGroup pooledGroup = new MVCGroupPool.PooledGroup(COMMAND, mvcGroup('group'), new PoolTestScaffoldingContext(), pooled, 0L)
+
+        PoolTestCommandObject source = new PoolTestCommandObject(username: 'duke', age: 18)
+        pooledGroup.reset(null, source)
+
+        assert pooled.username == 'duke'
+        assert pooled.age == 18
+        assert !pooled.errors.hasErrors()
+
+        pooled.username = 'edited'
+        pooled.errors.reject('login.failed')
+        PoolTestCommandObject target = new PoolTestCommandObject()
+        pooledGroup.copyTo(target)
+
+        assert target.username == 'edited'
+        assert target.age == 18
+        assert target.errors.hasErrors()
+        assert !target.errors.is(pooled.errors)
+        assert target.createdBy == PoolTestCommandObject.DEFAULT_CREATOR
+    }
+
+    private MVCGroupPool.PooledGroup pooledGroup(String mvcId) {
+        new MVCGroupPool.PooledGroup(COMMAND, mvcGroup(mvcId), new PoolTestScaffoldingContext(), new PoolTestCommandObject(), pool.generation)
+    }
+
+    private MVCGroup mvcGroup(String mvcId) {
+        [getMvcId: { mvcId }, destroy: { destroyed << mvcId }] as MVCGroup
+    }
+}
+
+class PoolTestScaffoldingContext extends ScaffoldingContext {
+    boolean disposed
+
+    void dispose() {
+        super.dispose()
+        disposed = true
+    }
+}
+
+class PoolTestCommandObject extends AbstractCommandObject {
+    static final String DEFAULT_CREATOR = 'pool'
+
+    String username
+    int age
+    private String createdBy = DEFAULT_CREATOR
+
+    String getCreatedBy() {
+        createdBy
+    }
+}